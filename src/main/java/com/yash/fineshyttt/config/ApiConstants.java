@@ -46,7 +46,7 @@ public final class ApiConstants {
     // =========================
     public static final String CART_BASE = API_V1 + "/cart";
     public static final String CART_ITEMS = "/items";
-    public static final String CART_ITEM_BY_VARIANT = "/items/{variantId}";
+    public static final String CART_ITEM_BY_ID = "/items/{itemId}";
 
     // =========================
     // ORDER ENDPOINTS
@@ -71,11 +71,26 @@ public final class ApiConstants {
     public static final String ADMIN_ORDERS_BY_ID = "/{orderId}";
     public static final String ADMIN_ORDERS_STATUS = "/{orderId}/status";
 
+    // Admin - Users
+    public static final String ADMIN_USERS = ADMIN_BASE + "/users";
+    public static final String ADMIN_USERS_ENABLED = "/{userId}/enabled";
+    public static final String ADMIN_USERS_ROLE = "/{userId}/roles/{roleName}";
+
+    // Admin - JWT signing keys
+    public static final String ADMIN_JWT_KEYS = ADMIN_BASE + "/jwt/keys";
+    public static final String ADMIN_JWT_KEYS_ACTIVATE = "/{kid}/activate";
+
+    // =========================
+    // JWKS (Public keys for token verification)
+    // =========================
+    public static final String JWKS = "/.well-known/jwks.json";
+
     // =========================
     // HEALTH & MONITORING
     // =========================
     public static final String HEALTH = "/api/health";
     public static final String ACTUATOR = "/actuator/**";
+    public static final String PROMETHEUS = "/actuator/prometheus";
 
     // =========================
     // PUBLIC ENDPOINTS (for SecurityConfig)
@@ -85,7 +100,9 @@ public final class ApiConstants {
             PRODUCTS_BASE + "/**",
             CATEGORIES_BASE + "/**",
             HEALTH,
+            JWKS,
             "/actuator/health"
+            // Other actuator endpoints: SecurityConfig.actuatorSecurityFilterChain
     };
 
     private ApiConstants() {
@@ -0,0 +1,29 @@
+package com.yash.fineshyttt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Abandoned cart purge settings (prefix: cart.purge).
+ *
+ * - guestIdle: guest carts without expires_at are purged after this idle time
+ * - userIdle: user carts untouched for this long are purged
+ * - batchSize: carts deleted per transaction
+ * - maxBatchesPerRun: upper bound per run so one run cannot monopolise the DB
+ * - throttle: pause between batches to leave headroom for live traffic
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cart.purge")
+@Getter @Setter
+public class CartPurgeProperties {
+    private boolean enabled = true;
+    private Duration guestIdle = Duration.ofDays(7);
+    private Duration userIdle = Duration.ofDays(90);
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 200;
+    private Duration throttle = Duration.ofMillis(100);
+}
@@ -0,0 +1,169 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency Limited DataSource
+ *
+ * Caps the connections checked out at once with a fair semaphore in front
+ * of the pool; a permit is held from getConnection() until close().
+ *
+ * Problem:
+ * - With virtual threads every request gets its own thread, so thousands
+ *   of requests can reach Hikari at once; they all wait inside the pool
+ *   for up to connection-timeout (30s) and time out together under load
+ *
+ * Solution:
+ * - Waiters queue on the semaphore in arrival order instead
+ * - A waiter that gets no permit within acquire-timeout fails fast with
+ *   SQLTransientConnectionException (503 + Retry-After through
+ *   GlobalExceptionHandler), shedding load while the database keeps up
+ * - Permits default to the Hikari maximum-pool-size, so a permit holder
+ *   never waits in the pool itself
+ *
+ * Metrics (tagged pool=<bean name>):
+ * - db.concurrency.active: permits in use (gauge)
+ * - db.concurrency.waiting: threads waiting for a permit (gauge)
+ * - db.concurrency.wait: time to obtain a permit (timer)
+ * - db.concurrency.rejected: acquire timeouts (counter)
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile Timer waitTimer;
+
+    public ConcurrencyLimitedDataSource(DataSource target, String name, int maxConcurrent, Duration acquireTimeout) {
+        super(target);
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new SQLTransientConnectionException(
+                        "Database concurrency limit reached on " + name + " (" + maxConcurrent + " connections busy for " + acquireTimeout + ")");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+        } finally {
+            waiting.decrementAndGet();
+            Timer timer = waitTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Connection proxy that returns the permit on the first close().
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConcurrencyLimitedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(method.getName()) && args[0] == Connection.class) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                }
+        );
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("db.concurrency.active", this, ConcurrencyLimitedDataSource::getActive)
+                .description("Database connections checked out through the concurrency limit")
+                .tag("pool", name)
+                .register(registry);
+        Gauge.builder("db.concurrency.waiting", waiting, AtomicInteger::get)
+                .description("Threads waiting for a database connection permit")
+                .tag("pool", name)
+                .register(registry);
+        FunctionCounter.builder("db.concurrency.rejected", rejected, LongAdder::sum)
+                .description("Connection requests rejected after acquire-timeout")
+                .tag("pool", name)
+                .register(registry);
+        waitTimer = Timer.builder("db.concurrency.wait")
+                .description("Time to obtain a database connection permit")
+                .tag("pool", name)
+                .register(registry);
+    }
+}
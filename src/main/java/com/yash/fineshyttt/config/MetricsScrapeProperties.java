@@ -0,0 +1,20 @@
+package com.yash.fineshyttt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Prometheus scrape credential (prefix: security.metrics-scrape).
+ *
+ * /actuator/prometheus accepts HTTP Basic with this user only (role
+ * METRICS); the scraper has no JWT. A blank password disables scraping.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.metrics-scrape")
+@Getter @Setter
+public class MetricsScrapeProperties {
+    private String username = "prometheus";
+    private String password = "";
+}
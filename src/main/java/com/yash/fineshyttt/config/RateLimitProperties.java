@@ -0,0 +1,43 @@
+package com.yash.fineshyttt.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Request rate limits per route group (prefix: rate-limit).
+ *
+ * Each group allows `capacity` requests per `period` for one client
+ * (authenticated user, otherwise IP), bursting up to `capacity`.
+ *
+ * - auth: AUTH_BASE (login, register, refresh), always keyed by IP
+ * - catalog: PRODUCTS_BASE, CATEGORIES_BASE
+ * - admin: ADMIN_BASE
+ * - api: everything else under API_V1 (cart, orders, ...)
+ * - stripes: buckets per group (power of two); clients hashing to the same
+ *   stripe share a bucket, so keep it well above concurrent clients
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter @Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int stripes = 16384;
+    private Limit auth = new Limit(10, Duration.ofMinutes(1));
+    private Limit catalog = new Limit(300, Duration.ofMinutes(1));
+    private Limit admin = new Limit(300, Duration.ofMinutes(1));
+    private Limit api = new Limit(120, Duration.ofMinutes(1));
+
+    @Getter @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+    }
+}
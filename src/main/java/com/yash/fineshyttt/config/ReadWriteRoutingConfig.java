@@ -0,0 +1,100 @@
+package com.yash.fineshyttt.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/Write Routing
+ *
+ * Opt-in with database.replica.enabled=true; without it the single
+ * auto-configured pool is used as before.
+ *
+ * Problem:
+ * - Every @Transactional(readOnly = true) service (catalog, slugs, order
+ *   history, cart totals) ran on the primary, which also takes all writes
+ *
+ * Solution:
+ * - Two pools: primaryDataSource (spring.datasource.*) and replicaDataSource
+ *   (database.replica.datasource.*)
+ * - The application DataSource is a LazyConnectionDataSourceProxy: the
+ *   physical connection is fetched on the first statement, after Spring
+ *   has marked the transaction read-only, and read-only connections come
+ *   from ReplicaRoutingDataSource (replica, or the primary when the replica
+ *   lags or the user just wrote, see ReadYourWritesTracker)
+ * - Flyway, JdbcTemplate and every read-write transaction use the primary
+ * - In virtual thread mode both pools get their own concurrency limit
+ *   (VirtualThreadConfig wraps each Hikari pool)
+ *
+ * Local setup: two databases on one server, see application-replica.yml.
+ */
+@Configuration
+@ConditionalOnProperty(name = "database.replica.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        if (!StringUtils.hasText(dataSource.getPoolName())) {
+            dataSource.setPoolName("primary");
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("database.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replica, properties, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickyWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            ReadYourWritesTracker readYourWrites,
+            MeterRegistry meterRegistry
+    ) {
+        return routing(primary, replica, lagMonitor, readYourWrites, meterRegistry);
+    }
+
+    static DataSource routing(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                              ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        DataSource trackedPrimary = readYourWrites.trackingWrites(primary);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(trackedPrimary);
+        dataSource.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(replica, trackedPrimary, lagMonitor, readYourWrites, meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,147 @@
+package com.yash.fineshyttt.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Read-Your-Writes Tracker
+ *
+ * Problem:
+ * - A user who just placed an order or changed the cart and reloads the
+ *   page would read from a replica that may not have replayed the write
+ *   yet, and see the old state
+ *
+ * Solution:
+ * - Connections of the primary are wrapped (trackingWrites); when a
+ *   connection prepares INSERT/UPDATE/DELETE/MERGE for an authenticated
+ *   user, the user is recorded on commit (immediately in auto-commit)
+ * - For sticky-window after that, isSticky() is true and the user's
+ *   read-only transactions run on the primary (ReplicaRoutingDataSource)
+ *
+ * Trade-off:
+ * - Per instance: with several instances, a user's next request may land
+ *   elsewhere; keep sticky-window >= max-lag so that instance's replica
+ *   reads are at most max-lag behind anyway
+ * - Anonymous writes (registration, guest carts) are not tracked
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickyWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(MAX_TRACKED_USERS)
+                .build();
+    }
+
+    /**
+     * True if the current user wrote within the sticky window.
+     */
+    public boolean isSticky() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    public void recordWrite(String user) {
+        recentWriters.put(user, Boolean.TRUE);
+    }
+
+    /**
+     * Primary DataSource whose connections report committed writes.
+     */
+    public DataSource trackingWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return tracking(obtainTargetDataSource().getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return tracking(obtainTargetDataSource().getConnection(username, password));
+            }
+        };
+    }
+
+    private Connection tracking(Connection connection) {
+        String[] writer = new String[1];
+        return (Connection) Proxy.newProxyInstance(
+                ReadYourWritesTracker.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement", "prepareCall" -> {
+                            if (isWrite((String) args[0])) {
+                                String user = currentUser();
+                                if (user != null) {
+                                    if (connection.getAutoCommit()) {
+                                        recordWrite(user);
+                                    } else {
+                                        writer[0] = user;
+                                    }
+                                }
+                            }
+                        }
+                        case "commit" -> {
+                            connection.commit();
+                            if (writer[0] != null) {
+                                recordWrite(writer[0]);
+                                writer[0] = null;
+                            }
+                            return null;
+                        }
+                        case "rollback", "close" -> writer[0] = null;
+                        case "unwrap" -> {
+                            if (args[0] == Connection.class) {
+                                return proxy;
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                }
+        );
+    }
+
+    static boolean isWrite(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return switch (statement.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "insert", "update", "delete", "merge" -> true;
+            default -> false;
+        };
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
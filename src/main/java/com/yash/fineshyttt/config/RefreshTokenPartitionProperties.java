@@ -0,0 +1,25 @@
+package com.yash.fineshyttt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Refresh token partition settings (prefix: refresh-token.partitions).
+ *
+ * - daysAhead: daily partitions created ahead of today. There is no DEFAULT
+ *   partition, so a token expiring beyond the last partition cannot be
+ *   stored: must be greater than security.jwt.refresh-ttl-days (checked at
+ *   startup)
+ * - interval: how often the horizon is extended (also extended at startup)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "refresh-token.partitions")
+@Getter @Setter
+public class RefreshTokenPartitionProperties {
+    private int daysAhead = 14;
+    private Duration interval = Duration.ofHours(1);
+}
@@ -0,0 +1,30 @@
+package com.yash.fineshyttt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Refresh token purge settings (prefix: refresh-token.purge).
+ *
+ * - revokedRetention: revoked tokens are kept this long before deletion;
+ *   presenting a purged token is "invalid" rather than a detected reuse,
+ *   so it is never shorter than security.jwt.refresh-ttl-days (the job
+ *   raises smaller values): a revoked token can be replayed until it expires
+ * - batchSize: rows deleted per transaction (keyset-ordered by id)
+ * - maxBatchesPerRun: upper bound per run so one run cannot monopolise the DB
+ * - throttle: pause between batches to leave headroom for live traffic
+ */
+@Configuration
+@ConfigurationProperties(prefix = "refresh-token.purge")
+@Getter @Setter
+public class RefreshTokenPurgeProperties {
+    private boolean enabled = true;
+    private Duration revokedRetention = Duration.ofDays(7);
+    private int batchSize = 1000;
+    private int maxBatchesPerRun = 100;
+    private Duration throttle = Duration.ofMillis(50);
+}
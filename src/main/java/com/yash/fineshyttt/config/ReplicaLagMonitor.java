@@ -0,0 +1,86 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replica Lag Monitor
+ *
+ * Measures replication lag on the replica (ReplicaProperties.lagQuery)
+ * every lag-check-interval and decides whether replica reads are allowed.
+ *
+ * - usable: last check succeeded and lag <= max-lag
+ * - Until the first successful check, and after a failed check or a failed
+ *   replica connection, reads go to the primary
+ *
+ * Metrics:
+ * - db.replica.lag: last measured lag in seconds, -1 when unreachable (gauge)
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final ReplicaProperties properties;
+
+    private volatile Duration lag;
+    private volatile boolean reachable;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+        Gauge.builder("db.replica.lag", this, ReplicaLagMonitor::lagSeconds)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${database.replica.lag-check-interval:PT1S}")
+    public void check() {
+        try {
+            Double seconds = replica.queryForObject(properties.getLagQuery(), Double.class);
+            Duration measured = Duration.ofMillis(Math.round((seconds != null ? seconds : 0) * 1000))
+                    .plus(properties.getSimulatedLag());
+            if (!reachable || isLagging(lag) != isLagging(measured)) {
+                log.info("Replica {} (lag {})", isLagging(measured) ? "lagging, reads on primary" : "in sync", measured);
+            }
+            lag = measured;
+            reachable = true;
+        } catch (DataAccessException ex) {
+            markUnavailable(ex);
+        }
+    }
+
+    /**
+     * Replica failed; reads stay on the primary until the next successful check.
+     */
+    public void markUnavailable(Exception cause) {
+        if (reachable) {
+            log.warn("Replica unavailable, reads on primary: {}", cause.getMessage());
+        }
+        reachable = false;
+    }
+
+    public boolean isUsable() {
+        return reachable && !isLagging(lag);
+    }
+
+    public boolean isReachable() {
+        return reachable;
+    }
+
+    private boolean isLagging(Duration value) {
+        return value == null || value.compareTo(properties.getMaxLag()) > 0;
+    }
+
+    private double lagSeconds() {
+        Duration value = lag;
+        return reachable && value != null ? value.toMillis() / 1000.0 : -1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.yash.fineshyttt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read replica routing settings (prefix: database.replica).
+ *
+ * The replica pool itself is bound from database.replica.datasource.*
+ * (Hikari properties: jdbc-url, username, password, maximum-pool-size, ...).
+ *
+ * - maxLag: replica reads fall back to the primary above this replication lag
+ * - lagCheckInterval: how often the lag is measured on the replica
+ * - lagQuery: returns the lag in seconds (default: PostgreSQL streaming replica,
+ *   0 when the replica has replayed everything it received)
+ * - simulatedLag: added to the measured lag, to exercise the fallback locally
+ * - stickyWindow: reads of a user who just wrote stay on the primary this long
+ */
+@Configuration
+@ConfigurationProperties(prefix = "database.replica")
+@Getter @Setter
+public class ReplicaProperties {
+
+    public static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private boolean enabled = false;
+    private Duration maxLag = Duration.ofSeconds(2);
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    private String lagQuery = POSTGRES_LAG_QUERY;
+    private Duration simulatedLag = Duration.ZERO;
+    private Duration stickyWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,96 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Connections for read-only transactions
+ *
+ * Replica, unless:
+ * - sticky: the current user wrote within the sticky window (ReadYourWritesTracker)
+ * - lagging: replica unreachable or behind by more than max-lag (ReplicaLagMonitor)
+ * - unavailable: the replica connection failed; a transient failure (replica
+ *   pool busy) only redirects this read, anything else marks the replica down
+ *   until the next lag check
+ *
+ * Metrics:
+ * - db.replica.reads{target, reason}: read-only connections by destination
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter laggingReads;
+    private final Counter unavailableReads;
+
+    public ReplicaRoutingDataSource(DataSource replica, DataSource primary, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.replicaReads = reads(meterRegistry, "replica", "replica");
+        this.stickyReads = reads(meterRegistry, "primary", "sticky");
+        this.laggingReads = reads(meterRegistry, "primary", "lagging");
+        this.unavailableReads = reads(meterRegistry, "primary", "unavailable");
+    }
+
+    private static Counter reads(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("db.replica.reads")
+                .description("Read-only connections by destination")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (readYourWrites.isSticky()) {
+            stickyReads.increment();
+            return source.from(primary);
+        }
+        if (!lagMonitor.isUsable()) {
+            laggingReads.increment();
+            return source.from(primary);
+        }
+        try {
+            Connection connection = source.from(replica);
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException ex) {
+            if (!(ex instanceof SQLTransientConnectionException)) {
+                lagMonitor.markUnavailable(ex);
+            }
+            unavailableReads.increment();
+            return source.from(primary);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection from(DataSource dataSource) throws SQLException;
+    }
+}
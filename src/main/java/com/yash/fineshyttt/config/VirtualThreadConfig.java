@@ -0,0 +1,106 @@
+package com.yash.fineshyttt.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Virtual Thread Mode
+ *
+ * Opt-in with VIRTUAL_THREADS_ENABLED=true (spring.threads.virtual.enabled).
+ * Spring Boot then runs Tomcat requests, @Async and @Scheduled work on
+ * virtual threads; this configuration adds what the application needs on
+ * top of that and is inactive on platform threads.
+ *
+ * Problem:
+ * - Requests block on JDBC and BCrypt; with 200 Tomcat threads the pool of
+ *   10 connections was already the bottleneck, and virtual threads remove
+ *   the thread limit that used to throttle callers in front of it
+ * - A virtual thread blocked inside synchronized pins its carrier, which
+ *   silently caps throughput at the number of CPUs
+ *
+ * Solution:
+ * - Every Hikari pool is wrapped in a ConcurrencyLimitedDataSource
+ *   (database.concurrency.*): fair FIFO queue in front of the pool and a
+ *   short acquire-timeout that sheds load as 503 + Retry-After
+ * - VirtualThreadPinningMonitor reports pinning from JFR as metrics
+ *   (diagnostics.virtual-threads.*)
+ * - BCrypt stays on its bounded pool (PasswordHashingExecutor), so virtual
+ *   threads cannot oversubscribe the CPU with hashes
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public static DataSourceConcurrencyLimiter dataSourceConcurrencyLimiter(
+            @Value("${database.concurrency.max-concurrent:0}") int maxConcurrent,
+            @Value("${database.concurrency.acquire-timeout:PT2S}") Duration acquireTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new DataSourceConcurrencyLimiter(maxConcurrent, acquireTimeout, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning-monitor", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${diagnostics.virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold
+    ) {
+        return new VirtualThreadPinningMonitor(meterRegistry, pinnedThreshold);
+    }
+
+    /**
+     * Wraps Hikari pools as they are created; binds their meters once the
+     * context is up (the registry may not exist yet when the pool does).
+     */
+    static class DataSourceConcurrencyLimiter implements BeanPostProcessor, SmartInitializingSingleton {
+
+        private final int maxConcurrent;
+        private final Duration acquireTimeout;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final List<ConcurrencyLimitedDataSource> limited = new CopyOnWriteArrayList<>();
+
+        DataSourceConcurrencyLimiter(int maxConcurrent, Duration acquireTimeout, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.maxConcurrent = maxConcurrent;
+            this.acquireTimeout = acquireTimeout;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+            if (!(bean instanceof HikariDataSource pool)) {
+                return bean;
+            }
+            // 0 = one permit per pooled connection
+            int permits = maxConcurrent > 0 ? maxConcurrent : pool.getMaximumPoolSize();
+            ConcurrencyLimitedDataSource dataSource =
+                    new ConcurrencyLimitedDataSource(pool, beanName, permits, acquireTimeout);
+            limited.add(dataSource);
+            log.info("DataSource '{}' limited to {} concurrent connections (acquire timeout {})",
+                    beanName, permits, acquireTimeout);
+            return dataSource;
+        }
+
+        @Override
+        public void afterSingletonsInstantiated() {
+            meterRegistry.ifAvailable(registry -> limited.forEach(dataSource -> dataSource.bindTo(registry)));
+        }
+    }
+}
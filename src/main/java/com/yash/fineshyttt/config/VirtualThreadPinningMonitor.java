@@ -0,0 +1,156 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual Thread Pinning Monitor
+ *
+ * Streams the JFR events the JDK emits when a virtual thread cannot unmount
+ * from its carrier, and turns them into metrics.
+ *
+ * Problem:
+ * - A virtual thread that blocks inside synchronized (or a native frame)
+ *   pins its carrier thread; with only as many carriers as CPUs, a few
+ *   pinned JDBC calls stall every other request, and nothing shows why
+ *
+ * Solution:
+ * - In-process JFR RecordingStream (no recording file, no restart) for
+ *   jdk.VirtualThreadPinned above a threshold, with stack traces
+ * - Each event is attributed to a site: the innermost application frame
+ *   (com.yash.fineshyttt), else the innermost non-JDK frame (driver, pool,
+ *   cache library); the first event of a site is logged with its stack
+ *
+ * Metrics:
+ * - jvm.threads.virtual.pinned{site}: pinned duration (timer); at most
+ *   MAX_SITES distinct sites, the rest are tagged "other"
+ * - jvm.threads.virtual.submit_failed: virtual thread starts/unparks the
+ *   scheduler rejected (counter)
+ *
+ * Known site: Caffeine loaders run inside ConcurrentHashMap.compute, which
+ * synchronizes, so a cache miss that queries the database pins (JDK 21).
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+    private static final int MAX_SITES = 50;
+    private static final int LOGGED_FRAMES = 15;
+    private static final String APPLICATION_PACKAGE = "com.yash.fineshyttt.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter submitFailed;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.submitFailed = Counter.builder("jvm.threads.virtual.submit_failed")
+                .description("Virtual thread submits rejected by the scheduler")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.enable(SUBMIT_FAILED_EVENT);
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+            recording.setMaxAge(Duration.ofMinutes(1));
+            recording.startAsync();
+            stream = recording;
+            log.info("Virtual thread pinning monitor started (threshold {})", threshold);
+        } catch (RuntimeException ex) {
+            log.warn("Virtual thread pinning monitor unavailable: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = site(frames);
+
+        Timer timer = timers.get(site);
+        if (timer == null) {
+            if (timers.size() >= MAX_SITES) {
+                site = "other";
+            } else {
+                log.warn("Virtual thread pinned for {} at {}:\n{}", event.getDuration(), site, describe(frames));
+            }
+            timer = timers.computeIfAbsent(site, this::register);
+        }
+        timer.record(event.getDuration());
+    }
+
+    private Timer register(String site) {
+        return Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .tag("site", site)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Innermost application frame, else innermost non-JDK frame, else "jdk".
+     */
+    static String site(List<RecordedFrame> frames) {
+        String library = null;
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return shortName(frame);
+            }
+            if (library == null && !isJdk(type)) {
+                library = shortName(frame);
+            }
+        }
+        return library != null ? library : "jdk";
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String shortName(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+    }
+
+    private static String describe(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "."
+                        + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
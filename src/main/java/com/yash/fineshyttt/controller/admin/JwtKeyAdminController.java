@@ -0,0 +1,52 @@
+package com.yash.fineshyttt.controller.admin;
+
+import com.yash.fineshyttt.config.ApiConstants;
+import com.yash.fineshyttt.security.JwtKey;
+import com.yash.fineshyttt.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(ApiConstants.ADMIN_JWT_KEYS)
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class JwtKeyAdminController {
+
+    private final JwtKeyRing keyRing;
+
+    public record JwtKeyResponse(String kid, String algorithm, boolean canSign, boolean active) {}
+
+    /**
+     * List keys in the ring (no key material)
+     */
+    @GetMapping
+    public ResponseEntity<List<JwtKeyResponse>> listKeys() {
+        return ResponseEntity.ok(toResponse());
+    }
+
+    /**
+     * Switch the signing key on this instance
+     */
+    @PostMapping(ApiConstants.ADMIN_JWT_KEYS_ACTIVATE)
+    public ResponseEntity<List<JwtKeyResponse>> activate(@PathVariable String kid) {
+        keyRing.activate(kid);
+        return ResponseEntity.ok(toResponse());
+    }
+
+    private List<JwtKeyResponse> toResponse() {
+        String activeKid = keyRing.active().kid();
+        return keyRing.keys()
+                .stream()
+                .map((JwtKey key) -> new JwtKeyResponse(
+                        key.kid(),
+                        key.algorithm().name(),
+                        key.canSign(),
+                        key.kid().equals(activeKid)
+                ))
+                .toList();
+    }
+}
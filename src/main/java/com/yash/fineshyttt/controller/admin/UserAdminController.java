@@ -0,0 +1,59 @@
+package com.yash.fineshyttt.controller.admin;
+
+import com.yash.fineshyttt.config.ApiConstants;
+import com.yash.fineshyttt.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * User account administration
+ *
+ * Changes are broadcast to every instance's user caches
+ * (CacheInvalidationBus) when the transaction commits.
+ */
+@RestController
+@RequestMapping(ApiConstants.ADMIN_USERS)
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UserAdminController {
+
+    private final UserService userService;
+
+    /**
+     * Enable or disable an account
+     */
+    @PutMapping(ApiConstants.ADMIN_USERS_ENABLED)
+    public ResponseEntity<Void> setEnabled(
+            @PathVariable Long userId,
+            @RequestParam boolean enabled
+    ) {
+        userService.setEnabled(userId, enabled);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Grant a role
+     */
+    @PutMapping(ApiConstants.ADMIN_USERS_ROLE)
+    public ResponseEntity<Void> grantRole(
+            @PathVariable Long userId,
+            @PathVariable String roleName
+    ) {
+        userService.grantRole(userId, roleName);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revoke a role (also revokes the user's access tokens)
+     */
+    @DeleteMapping(ApiConstants.ADMIN_USERS_ROLE)
+    public ResponseEntity<Void> revokeRole(
+            @PathVariable Long userId,
+            @PathVariable String roleName
+    ) {
+        userService.revokeRole(userId, roleName);
+        return ResponseEntity.noContent().build();
+    }
+}
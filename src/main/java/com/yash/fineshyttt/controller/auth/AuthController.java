@@ -80,8 +80,8 @@ public class AuthController {
     /**
      * User Logout
      *
-     * Revokes all refresh tokens for the authenticated user.
-     * Access token expires naturally (cannot be revoked server-side).
+     * Revokes all refresh tokens for the authenticated user, and all of
+     * their access tokens via the token generation counter.
      * User identity sourced from SecurityContext, never from request payload.
      *
      * @param principal Authenticated user from Spring Security context
@@ -24,8 +24,9 @@ public class CartController {
     public ResponseEntity<CartResponse> getCart(
             @AuthenticationPrincipal UserPrincipal principal
     ) {
-        Cart cart = cartService.getOrCreateCart(principal.getUser());
-        return ResponseEntity.ok(CartResponse.from(cart));
+        return ResponseEntity.ok(cartService.findCart(principal.userId())
+                .map(CartResponse::from)
+                .orElseGet(CartResponse::empty));
     }
 
     @PostMapping(ApiConstants.CART_ITEMS)
@@ -34,34 +35,34 @@ public class CartController {
             @Valid @RequestBody CartItemRequest request
     ) {
         Cart cart = cartService.addItem(
-                principal.getUser(),
+                principal.userId(),
                 request.variantId(),
                 request.quantity()
         );
         return ResponseEntity.ok(CartResponse.from(cart));
     }
 
-    @PutMapping(ApiConstants.CART_ITEM_BY_VARIANT)
+    @PutMapping(ApiConstants.CART_ITEM_BY_ID)
     public ResponseEntity<CartResponse> updateItemQuantity(
             @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long itemId,
             @RequestParam int quantity
     ) {
         Cart cart = cartService.updateItemQuantity(
-                principal.getUser(),
+                principal.userId(),
                 itemId,
                 quantity
         );
         return ResponseEntity.ok(CartResponse.from(cart));
     }
 
-    @DeleteMapping(ApiConstants.CART_ITEM_BY_VARIANT)
+    @DeleteMapping(ApiConstants.CART_ITEM_BY_ID)
     public ResponseEntity<CartResponse> removeItem(
             @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long itemId
     ) {
         Cart cart = cartService.removeItem(
-                principal.getUser(),
+                principal.userId(),
                 itemId
         );
         return ResponseEntity.ok(CartResponse.from(cart));
@@ -71,7 +72,7 @@ public class CartController {
     public ResponseEntity<Void> clearCart(
             @AuthenticationPrincipal UserPrincipal principal
     ) {
-        cartService.clearCart(principal.getUser());
+        cartService.clearCart(principal.userId());
         return ResponseEntity.noContent().build();
     }
 }
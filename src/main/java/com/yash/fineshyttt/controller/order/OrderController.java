@@ -27,6 +27,9 @@ public class OrderController {
 
     /**
      * Checkout - Create order from cart
+     *
+     * The only order endpoint that needs the User entity (loaded lazily for
+     * claims-backed principals); the others work from the user ID.
      */
     @PostMapping("/checkout")
     public ResponseEntity<OrderResponse> checkout(
@@ -37,7 +40,8 @@ public class OrderController {
                 principal.getUser(),
                 request.shippingAddressId(),
                 request.billingAddressId(),
-                request.couponCode()
+                request.couponCode(),
+                request.priceVersion()
         );
 
         return ResponseEntity.status(201)
@@ -54,7 +58,7 @@ public class OrderController {
             Pageable pageable
     ) {
         Page<Order> orders = orderService.getUserOrders(
-                principal.getUser(),
+                principal.userId(),
                 pageable
         );
 
@@ -73,7 +77,7 @@ public class OrderController {
     ) {
         Order order = orderService.getOrder(
                 orderId,
-                principal.getUser()
+                principal.userId()
         );
 
         return ResponseEntity.ok(OrderResponse.from(order));
@@ -89,7 +93,7 @@ public class OrderController {
     ) {
         Order order = orderService.cancelOrder(
                 orderId,
-                principal.getUser()
+                principal.userId()
         );
 
         return ResponseEntity.ok(OrderResponse.from(order));
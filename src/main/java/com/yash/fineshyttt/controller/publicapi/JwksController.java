@@ -0,0 +1,31 @@
+package com.yash.fineshyttt.controller.publicapi;
+
+import com.yash.fineshyttt.config.ApiConstants;
+import com.yash.fineshyttt.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * JWK Set endpoint: public keys for verifying our access tokens locally
+ * (other services, edge). Keys are matched by the token header's kid.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @GetMapping(value = ApiConstants.JWKS, produces = "application/jwk-set+json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        // Short max-age: verifiers pick up newly added keys before they sign anything
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(keyRing.jwks());
+    }
+}
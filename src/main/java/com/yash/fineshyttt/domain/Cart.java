@@ -30,6 +30,11 @@ public class Cart {
     @Column(name = "expires_at")
     private Instant expiresAt;
 
+    // Bumped whenever a line is re-quoted; clients send it back at checkout
+    @Builder.Default
+    @Column(name = "price_version", nullable = false)
+    private long priceVersion = 0L;
+
     @Builder.Default
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CartItem> items = new ArrayList<>();
@@ -47,6 +52,22 @@ public class Cart {
         this.updatedAt = Instant.now();
     }
 
+    /**
+     * Mark cart as active. Item changes don't dirty the cart row itself,
+     * so services call this to keep updated_at usable for idle purging.
+     */
+    public void touch() {
+        this.updatedAt = Instant.now();
+    }
+
+    public void bumpPriceVersion() {
+        this.priceVersion++;
+    }
+
+    public void clearItems() {
+        items.clear();
+    }
+
     public boolean isUserCart() {
         return user != null;
     }
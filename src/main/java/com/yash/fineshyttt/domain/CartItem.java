@@ -35,6 +35,10 @@ public class CartItem {
     @Column(nullable = false)
     private Integer quantity;
 
+    // Price the customer was quoted; checked against the live price at checkout
+    @Column(name = "unit_price", nullable = false, precision = 12, scale = 2)
+    private BigDecimal unitPrice;
+
     @Builder.Default
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
@@ -49,6 +53,19 @@ public class CartItem {
     }
 
     public BigDecimal getPrice() {
-        return variant.getPrice();
+        return unitPrice;
+    }
+
+    /**
+     * Re-quote this line at the given live price.
+     *
+     * @return true if the quoted price changed
+     */
+    public boolean requote(BigDecimal currentPrice) {
+        if (unitPrice != null && unitPrice.compareTo(currentPrice) == 0) {
+            return false;
+        }
+        this.unitPrice = currentPrice;
+        return true;
     }
 }
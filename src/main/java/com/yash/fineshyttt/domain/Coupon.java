@@ -54,4 +54,27 @@ public class Coupon {
     @Builder.Default
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
+
+    /**
+     * Discount granted on an order total: a percentage of the total or a
+     * fixed amount, capped at maxDiscount when set.
+     */
+    public BigDecimal discountFor(BigDecimal totalAmount) {
+        BigDecimal discount;
+
+        if (discountType == DiscountType.PERCENTAGE) {
+            discount = totalAmount
+                    .multiply(discountValue)
+                    .divide(BigDecimal.valueOf(100));
+        } else {
+            discount = discountValue;
+        }
+
+        // Apply max discount limit
+        if (maxDiscount != null && discount.compareTo(maxDiscount) > 0) {
+            discount = maxDiscount;
+        }
+
+        return discount;
+    }
 }
@@ -1,11 +1,13 @@
 package com.yash.fineshyttt.domain;
 
+import com.yash.fineshyttt.service.product.VariantLookupInvalidationListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.Instant;
 
 @Entity
+@EntityListeners(VariantLookupInvalidationListener.class)
 @Table(name = "inventory")
 @Getter
 @Setter
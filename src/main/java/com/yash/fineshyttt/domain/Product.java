@@ -2,6 +2,7 @@ package com.yash.fineshyttt.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -52,7 +53,8 @@ public class Product {
 
     @Builder.Default
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
-    @OrderBy("displayOrder ASC")
+    @OrderBy("position ASC")
+    @BatchSize(size = 50) // Listing pages load all their images in one query
     private List<ProductImage> images = new ArrayList<>();
 
     public void deactivate() {
@@ -1,5 +1,6 @@
 package com.yash.fineshyttt.domain;
 
+import com.yash.fineshyttt.service.product.VariantLookupInvalidationListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,6 +8,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(VariantLookupInvalidationListener.class)
 @Table(name = "product_variants")
 @Getter
 @Setter
@@ -12,6 +12,9 @@ import java.time.Instant;
 @NoArgsConstructor
 public class RefreshToken {
 
+    // SHA-256 digest size
+    private static final int TOKEN_HASH_LENGTH = 32;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,8 +23,9 @@ public class RefreshToken {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
-    private String tokenHash;
+    // Raw SHA-256 (bytea, V10). Indexed, not UNIQUE: the table is partitioned by expires_at (V9)
+    @Column(name = "token_hash", nullable = false, length = TOKEN_HASH_LENGTH)
+    private byte[] tokenHash;
 
     @Column(name = "device_fingerprint")
     private String deviceFingerprint;
@@ -40,7 +44,7 @@ public class RefreshToken {
 
     public RefreshToken(
             User user,
-            String tokenHash,
+            byte[] tokenHash,
             String deviceFingerprint,
             Instant issuedAt,
             Instant expiresAt
@@ -40,6 +40,14 @@ public class User {
 
     private Instant lastLoginAt;
 
+    // Access tokens carrying an older "gen" claim are rejected
+    @Builder.Default
+    @Column(name = "token_generation", nullable = false)
+    private long tokenGeneration = 0;
+
+    // Last token_generation bump (AccessTokenRevocationList rebuild)
+    private Instant tokensRevokedAt;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -57,6 +65,8 @@ public class User {
     public User(String email, String passwordHash) {
         this.email = email;
         this.passwordHash = passwordHash;
+        // @Builder.Default moves field initializers to the builder
+        this.enabled = true;
     }
 
     @PrePersist
@@ -74,11 +84,17 @@ public class User {
         this.emailVerified = true;
     }
 
-    public void recordLogin() {
-        this.lastLoginAt = Instant.now();
-    }
-
     public void changePassword(String newHash) {
         this.passwordHash = newHash;
+        revokeAccessTokens();
+    }
+
+    /**
+     * Invalidate every access token issued so far (checked per request
+     * through AccessTokenRevocationList).
+     */
+    public void revokeAccessTokens() {
+        this.tokenGeneration++;
+        this.tokensRevokedAt = Instant.now();
     }
 }
@@ -19,7 +19,7 @@ public record CartItemResponse(
         var variant = item.getVariant();
         var product = variant.getProduct();
 
-        BigDecimal price = variant.getPrice();
+        BigDecimal price = item.getPrice();
         BigDecimal subtotal = price.multiply(BigDecimal.valueOf(item.getQuantity()));
 
         return new CartItemResponse(
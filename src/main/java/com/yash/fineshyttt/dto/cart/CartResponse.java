@@ -7,10 +7,16 @@ import java.util.List;
 
 public record CartResponse(
         Long id,
+        long priceVersion,
         List<CartItemResponse> items,
         int totalItems,
         BigDecimal totalAmount
 ) {
+    // A user without a cart row yet (created on the first add)
+    public static CartResponse empty() {
+        return new CartResponse(null, 0L, List.of(), 0, BigDecimal.ZERO);
+    }
+
     public static CartResponse from(Cart cart) {
         List<CartItemResponse> items = cart.getItems()
                 .stream()
@@ -27,6 +33,7 @@ public record CartResponse(
 
         return new CartResponse(
                 cart.getId(),
+                cart.getPriceVersion(),
                 items,
                 totalItems,
                 totalAmount
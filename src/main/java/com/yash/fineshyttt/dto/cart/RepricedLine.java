@@ -0,0 +1,18 @@
+package com.yash.fineshyttt.dto.cart;
+
+import java.math.BigDecimal;
+
+/**
+ * Cart line re-quoted at checkout (409 CART_PRICE_CHANGED)
+ *
+ * @param itemId   Cart item ID
+ * @param sku      Variant SKU
+ * @param oldPrice Price the line was quoted at
+ * @param newPrice Current price, now quoted on the line
+ */
+public record RepricedLine(
+        Long itemId,
+        String sku,
+        BigDecimal oldPrice,
+        BigDecimal newPrice
+) {}
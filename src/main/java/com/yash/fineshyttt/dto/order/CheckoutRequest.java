@@ -9,5 +9,8 @@ public record CheckoutRequest(
         @NotNull(message = "Billing address is required")
         Long billingAddressId,
 
-        String couponCode
+        String couponCode,
+
+        // Cart priceVersion the customer reviewed; checkout fails with 409 if it moved
+        Long priceVersion
 ) {}
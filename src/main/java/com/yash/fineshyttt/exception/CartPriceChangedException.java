@@ -0,0 +1,24 @@
+package com.yash.fineshyttt.exception;
+
+import com.yash.fineshyttt.dto.cart.RepricedLine;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Checkout rejected because the cart's quoted prices are out of date.
+ * The cart has been re-quoted; the client should show it again and retry
+ * with the new priceVersion.
+ */
+@Getter
+public class CartPriceChangedException extends RuntimeException {
+
+    private final long priceVersion;
+    private final List<RepricedLine> changedLines;
+
+    public CartPriceChangedException(long priceVersion, List<RepricedLine> changedLines) {
+        super("Cart prices have changed, please review your cart (priceVersion " + priceVersion + ")");
+        this.priceVersion = priceVersion;
+        this.changedLines = changedLines;
+    }
+}
@@ -1,6 +1,7 @@
 package com.yash.fineshyttt.exception;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yash.fineshyttt.dto.cart.RepricedLine;
 import lombok.Builder;
 
 import java.time.Instant;
@@ -18,6 +19,8 @@ public record ErrorResponse(
         String code,
         String message,
         List<ValidationError> errors,
+        // CART_PRICE_CHANGED only
+        List<RepricedLine> repricedLines,
         String path,
         String requestId
 ) {}
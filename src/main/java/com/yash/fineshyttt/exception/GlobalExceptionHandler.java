@@ -3,9 +3,12 @@ package com.yash.fineshyttt.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -92,6 +95,81 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    // =========================
+    // CART PRICE CHANGED (409)
+    // =========================
+    @ExceptionHandler(CartPriceChangedException.class)
+    public ResponseEntity<ErrorResponse> handleCartPriceChanged(
+            CartPriceChangedException ex,
+            HttpServletRequest request
+    ) {
+        log.info("Checkout rejected, cart re-quoted to priceVersion {} ({} lines changed)",
+                ex.getPriceVersion(), ex.getChangedLines().size());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.builder()
+                        .timestamp(Instant.now())
+                        .status(409)
+                        .error("CONFLICT")
+                        .code("CART_PRICE_CHANGED")
+                        .message(ex.getMessage())
+                        .repricedLines(ex.getChangedLines().isEmpty() ? null : ex.getChangedLines())
+                        .path(request.getRequestURI())
+                        .requestId(getRequestId(request))
+                        .build());
+    }
+
+    // =========================
+    // SERVICE UNAVAILABLE (503)
+    // =========================
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(
+            ServiceUnavailableException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Request shed: {} at {}", ex.getMessage(), request.getRequestURI());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.builder()
+                        .timestamp(Instant.now())
+                        .status(503)
+                        .error("SERVICE_UNAVAILABLE")
+                        .code("SERVICE_BUSY")
+                        .message(ex.getMessage())
+                        .path(request.getRequestURI())
+                        .requestId(getRequestId(request))
+                        .build());
+    }
+
+    // =========================
+    // DATABASE UNAVAILABLE (503)
+    // =========================
+    // No connection within the concurrency limit / pool timeout
+    // (ConcurrencyLimitedDataSource) or the database is down
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(
+            Exception ex,
+            HttpServletRequest request
+    ) {
+        log.warn("No database connection for {}: {}", request.getRequestURI(), ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.builder()
+                        .timestamp(Instant.now())
+                        .status(503)
+                        .error("SERVICE_UNAVAILABLE")
+                        .code("DATABASE_BUSY")
+                        .message("Service is busy, please retry")
+                        .path(request.getRequestURI())
+                        .requestId(getRequestId(request))
+                        .build());
+    }
+
     // =========================
     // VALIDATION (400)
     // =========================
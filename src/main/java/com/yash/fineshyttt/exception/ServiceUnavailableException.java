@@ -0,0 +1,18 @@
+package com.yash.fineshyttt.exception;
+
+import lombok.Getter;
+
+/**
+ * Request shed because a bounded resource is saturated (503).
+ * The client may retry after retryAfterSeconds.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -2,8 +2,13 @@ package com.yash.fineshyttt.repository;
 
 import com.yash.fineshyttt.domain.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +16,40 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     Optional<CartItem> findByCart_IdAndVariant_Id(Long cartId, Long variantId);
 
-    void deleteAllByCart_Id(Long cartId);
+    // Scoped to the cart so one user can't address another user's item
+    Optional<CartItem> findByIdAndCart_Id(Long id, Long cartId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :itemId AND ci.cart.id = :cartId")
+    int deleteByIdAndCartId(@Param("itemId") Long itemId, @Param("cartId") Long cartId);
+
+    /**
+     * Re-quote every line whose snapshot differs from the live variant price.
+     * Flushes pending item changes first and clears the persistence context
+     * afterwards, so no managed CartItem keeps a stale unitPrice.
+     *
+     * @return Number of lines re-quoted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE CartItem ci
+            SET ci.unitPrice = (SELECT v.price FROM ProductVariant v WHERE v.id = ci.variant.id)
+            WHERE ci.cart.id = :cartId
+              AND ci.unitPrice <> (SELECT v.price FROM ProductVariant v WHERE v.id = ci.variant.id)
+            """)
+    int requoteChangedPrices(@Param("cartId") Long cartId);
+
+    // Single statement instead of the derived delete's load-then-remove per row
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartId")
+    int deleteAllByCart_Id(@Param("cartId") Long cartId);
+
+    // Items must go first: the Hibernate-generated test schema has no ON DELETE CASCADE
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id IN "
+            + "(SELECT c.id FROM Cart c WHERE c.id IN :cartIds AND " + CartRepository.PURGEABLE + ")")
+    int deleteAllOfPurgeableCarts(@Param("cartIds") Collection<Long> cartIds,
+                                  @Param("now") Instant now,
+                                  @Param("guestIdleBefore") Instant guestIdleBefore,
+                                  @Param("userIdleBefore") Instant userIdleBefore);
 }
@@ -1,17 +1,115 @@
 package com.yash.fineshyttt.repository;
 
 import com.yash.fineshyttt.domain.Cart;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
 
-    @EntityGraph(attributePaths = {"items", "items.variant", "items.variant.product"})
+    /**
+     * Purge predicate shared by the candidate scan and the deletes, so a cart
+     * touched between the two is left alone.
+     */
+    String PURGEABLE = """
+            ((c.sessionId IS NOT NULL AND (c.expiresAt < :now
+                    OR (c.expiresAt IS NULL AND c.updatedAt < :guestIdleBefore)))
+             OR (c.user IS NOT NULL AND c.updatedAt < :userIdleBefore))
+            """;
+
+    @EntityGraph(attributePaths = {"items", "items.variant", "items.variant.product", "items.variant.inventory"})
     Optional<Cart> findByUser_Id(Long userId);
 
+    /**
+     * Same graph as findByUser_Id, loaded read-only: used to render the cart
+     * after a mutation, so the loaded lines aren't snapshotted or dirty-checked.
+     */
+    @EntityGraph(attributePaths = {"items", "items.variant", "items.variant.product", "items.variant.inventory"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId")
+    Optional<Cart> findViewByUserId(@Param("userId") Long userId);
+
+    // Single-item operations only need the cart ID, not the graph
+    @Query("SELECT c.id FROM Cart c WHERE c.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.updatedAt = :now WHERE c.id = :cartId")
+    int touch(@Param("cartId") Long cartId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.priceVersion = c.priceVersion + 1 WHERE c.id = :cartId")
+    int bumpPriceVersion(@Param("cartId") Long cartId);
+
+    // Checkout: lines only, prices are validated against one bulk variant read
+    @EntityGraph(attributePaths = {"items"})
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId")
+    Optional<Cart> findWithItemsByUserId(@Param("userId") Long userId);
+
     boolean existsByUser_Id(Long userId);
+
+    /*
+     * Candidate scans, one per purge rule, each keyset-ordered on the column
+     * its partial index (V6) leads with: (cursor, id) > (:afterCursor, :afterId).
+     * Callers pass the last row of the previous batch, Instant.EPOCH and 0 to start.
+     */
+
+    @Query("""
+            SELECT c.id AS id, c.expiresAt AS cursor FROM Cart c
+            WHERE c.sessionId IS NOT NULL AND c.expiresAt < :now
+              AND (c.expiresAt > :afterCursor OR (c.expiresAt = :afterCursor AND c.id > :afterId))
+            ORDER BY c.expiresAt, c.id
+            """)
+    List<PurgeCandidate> findExpiredGuestCarts(@Param("now") Instant now,
+                                               @Param("afterCursor") Instant afterCursor,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Query("""
+            SELECT c.id AS id, c.updatedAt AS cursor FROM Cart c
+            WHERE c.sessionId IS NOT NULL AND c.expiresAt IS NULL AND c.updatedAt < :idleBefore
+              AND (c.updatedAt > :afterCursor OR (c.updatedAt = :afterCursor AND c.id > :afterId))
+            ORDER BY c.updatedAt, c.id
+            """)
+    List<PurgeCandidate> findIdleGuestCarts(@Param("idleBefore") Instant idleBefore,
+                                            @Param("afterCursor") Instant afterCursor,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    @Query("""
+            SELECT c.id AS id, c.updatedAt AS cursor FROM Cart c
+            WHERE c.user IS NOT NULL AND c.updatedAt < :idleBefore
+              AND (c.updatedAt > :afterCursor OR (c.updatedAt = :afterCursor AND c.id > :afterId))
+            ORDER BY c.updatedAt, c.id
+            """)
+    List<PurgeCandidate> findIdleUserCarts(@Param("idleBefore") Instant idleBefore,
+                                           @Param("afterCursor") Instant afterCursor,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.id IN :ids AND " + PURGEABLE)
+    int deletePurgeable(@Param("ids") Collection<Long> ids,
+                        @Param("now") Instant now,
+                        @Param("guestIdleBefore") Instant guestIdleBefore,
+                        @Param("userIdleBefore") Instant userIdleBefore);
+
+    interface PurgeCandidate {
+        Long getId();
+
+        Instant getCursor();
+    }
 }
@@ -2,10 +2,18 @@ package com.yash.fineshyttt.repository;
 
 import com.yash.fineshyttt.domain.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
     Optional<Inventory> findByVariant_Id(Long variantId);
+
+    // One round trip for all order/cart lines (variant fetched to avoid eager N+1)
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.variant v WHERE v.id IN :variantIds")
+    List<Inventory> findAllByVariantIdIn(@Param("variantIds") Collection<Long> variantIds);
 }
@@ -3,7 +3,10 @@ package com.yash.fineshyttt.repository;
 import com.yash.fineshyttt.domain.ProductVariant;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +16,25 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
 
     @EntityGraph(attributePaths = {"category"})
     List<ProductVariant> findAllByProduct_IdAndIsActiveTrue(Long productId);
+
+    // Single round trip for price, status, SKU and available stock (VariantLookupCache)
+    @Query("""
+        SELECT v.id AS id, v.price AS price, v.isActive AS active, v.sku AS sku,
+               COALESCE(i.quantity - i.reservedQuantity, 0) AS availableStock
+        FROM ProductVariant v LEFT JOIN v.inventory i
+        WHERE v.id = :id
+    """)
+    Optional<LookupRow> findLookupRow(@Param("id") Long id);
+
+    interface LookupRow {
+        Long getId();
+
+        BigDecimal getPrice();
+
+        Boolean getActive();
+
+        String getSku();
+
+        Integer getAvailableStock();
+    }
 }
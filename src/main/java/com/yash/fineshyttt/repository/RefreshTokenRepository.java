@@ -1,17 +1,41 @@
 package com.yash.fineshyttt.repository;
 
 import com.yash.fineshyttt.domain.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    /**
+     * Purge predicate shared by the candidate scan and the deletes:
+     * expired, or revoked longer ago than the retention period.
+     */
+    String PURGEABLE = """
+            (rt.expiresAt < :now OR (rt.revoked = true AND rt.revokedAt < :revokedBefore))
+            """;
+
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Revoke a token only if still active (rotation). Returns 0 when a
+     * concurrent request already rotated it.
+     */
+    @Modifying
+    @Query("""
+        UPDATE RefreshToken rt
+        SET rt.revoked = true, rt.revokedAt = :now, rt.lastUsedAt = :now
+        WHERE rt.id = :id AND rt.revoked = false
+    """)
+    int revokeIfActive(@Param("id") Long id,
+                       @Param("now") Instant now);
 
     @Modifying
     @Query("""
@@ -21,4 +45,17 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     """)
     void revokeAllByUserId(@Param("userId") Long userId,
                           @Param("now") Instant now);
+
+    // Keyset scan: callers pass the last id of the previous batch
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.id > :afterId AND " + PURGEABLE + " ORDER BY rt.id")
+    List<Long> findPurgeableIds(@Param("afterId") Long afterId,
+                                @Param("now") Instant now,
+                                @Param("revokedBefore") Instant revokedBefore,
+                                Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids AND " + PURGEABLE)
+    int deletePurgeable(@Param("ids") Collection<Long> ids,
+                        @Param("now") Instant now,
+                        @Param("revokedBefore") Instant revokedBefore);
 }
@@ -2,9 +2,12 @@ package com.yash.fineshyttt.repository;
 
 import com.yash.fineshyttt.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,5 +19,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByIdWithRoles(@Param("id") Long id);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("""
+            UPDATE User u
+            SET u.tokenGeneration = u.tokenGeneration + 1, u.tokensRevokedAt = :now
+            WHERE u.id = :id
+            """)
+    int incrementTokenGeneration(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Users whose access tokens were revoked after the given instant
+     * (AccessTokenRevocationList rebuild).
+     */
+    List<TokenRevocation> findByTokensRevokedAtAfter(Instant since);
+
+    Optional<TokenRevocation> findRevocationByIdAndTokensRevokedAtAfter(Long id, Instant since);
+
+    /**
+     * Revocation state projection: tokens with a lower "gen" claim are revoked.
+     */
+    interface TokenRevocation {
+        Long getId();
+
+        long getTokenGeneration();
+
+        Instant getTokensRevokedAt();
+    }
 }
 
@@ -0,0 +1,194 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.repository.UserRepository;
+import com.yash.fineshyttt.service.cache.CacheInvalidationBus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access Token Revocation List
+ *
+ * Rejects access tokens revoked before they expire (logout, disable, role
+ * removal) without a database lookup per request.
+ *
+ * Design:
+ * - Almost no user is ever revoked, and only users revoked within the last
+ *   access token TTL can hold a revoked, unexpired token; only those are
+ *   kept in memory:
+ *   - Exact entries: userId → minimum valid generation (tokens with a lower
+ *     "gen" claim were issued before the revocation)
+ *   - Rotating bloom filter over the same user ids, checked first: for the
+ *     common never-revoked user the check is a few bit reads, no map lookup
+ * - Rebuilt on startup from users.tokens_revoked_at (V11)
+ * - Kept in sync between nodes by the CacheInvalidationBus USER topic: each
+ *   message reloads that user's revocation state (one primary key query);
+ *   a resync rebuilds everything
+ *
+ * Expiry:
+ * - Window = access TTL + clock skew. The bloom filter has two generations,
+ *   rotated once per window, so an id stays in it for at least one window;
+ *   exact entries are pruned once their revocation is a window old
+ *
+ * Disabled users: disabling bumps the generation, so their outstanding
+ * tokens are rejected here; login and refresh refuse new ones.
+ */
+@Component
+@Slf4j
+public class AccessTokenRevocationList {
+
+    private final UserRepository userRepository;
+    private final Duration window;
+    private final int bloomBits;
+
+    private final Map<Long, Revocation> revocations = new ConcurrentHashMap<>();
+
+    private volatile BloomFilters filters;
+    private volatile Instant lastRotation = Instant.now();
+
+    private record Revocation(long minGeneration, Instant revokedAt) {}
+
+    private record BloomFilters(BloomFilter current, BloomFilter previous) {}
+
+    public AccessTokenRevocationList(
+            UserRepository userRepository,
+            CacheInvalidationBus invalidationBus,
+            JwtProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${security.jwt.revocation.bloom-bits:1048576}") int bloomBits
+    ) {
+        this.userRepository = userRepository;
+        this.window = Duration.ofMinutes(properties.getAccessTtlMinutes())
+                .plusSeconds(properties.getClockSkewSeconds());
+        this.bloomBits = bloomBits;
+        this.filters = new BloomFilters(new BloomFilter(bloomBits), new BloomFilter(bloomBits));
+
+        Gauge.builder("auth.token_revocations", revocations, Map::size)
+                .description("Users with recently revoked access tokens")
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(CacheInvalidationBus.USER, this::reload, this::rebuild);
+    }
+
+    /**
+     * Load every revocation within the window (startup, bus resync).
+     *
+     * Entries are merged, never cleared first, so tokens revoked before
+     * the rebuild stay rejected while it runs.
+     */
+    @PostConstruct
+    public void rebuild() {
+        Instant since = Instant.now().minus(window);
+
+        for (UserRepository.TokenRevocation revocation : userRepository.findByTokensRevokedAtAfter(since)) {
+            record(revocation.getId(), revocation.getTokenGeneration(), revocation.getTokensRevokedAt());
+        }
+
+        log.info("Access token revocation list rebuilt: {} users", revocations.size());
+    }
+
+    /**
+     * @param userId          Token subject
+     * @param tokenGeneration "gen" claim (0 for tokens issued before the claim existed)
+     * @return true if the token was issued before its user's last revocation
+     */
+    public boolean isRevoked(long userId, long tokenGeneration) {
+        BloomFilters current = filters;
+        if (!current.current().mightContain(userId) && !current.previous().mightContain(userId)) {
+            return false;
+        }
+
+        Revocation revocation = revocations.get(userId);
+        return revocation != null && tokenGeneration < revocation.minGeneration();
+    }
+
+    /**
+     * Reload one user's revocation state (called through the CacheInvalidationBus).
+     */
+    public void reload(long userId) {
+        userRepository.findRevocationByIdAndTokensRevokedAtAfter(userId, Instant.now().minus(window))
+                .ifPresent(revocation -> record(userId, revocation.getTokenGeneration(), revocation.getTokensRevokedAt()));
+    }
+
+    /**
+     * Revoke all of the user's tokens with a generation below minGeneration.
+     */
+    void record(long userId, long minGeneration, Instant revokedAt) {
+        // Exact entry first: a reader that sees the bloom bit must find it
+        revocations.merge(userId, new Revocation(minGeneration, revokedAt),
+                (existing, update) -> update.minGeneration() >= existing.minGeneration() ? update : existing);
+        filters.current().add(userId);
+    }
+
+    /**
+     * Prune expired entries and rotate the bloom filter once per window.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.maintenance-interval:PT1M}")
+    public void maintain() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(window);
+
+        revocations.values().removeIf(revocation -> revocation.revokedAt().isBefore(cutoff));
+
+        if (!lastRotation.plus(window).isAfter(now)) {
+            filters = new BloomFilters(new BloomFilter(bloomBits), filters.current());
+            lastRotation = now;
+            log.debug("Access token revocation bloom filter rotated");
+        }
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    /**
+     * Lock-free bloom filter over user ids (k = 4, double hashing).
+     */
+    static final class BloomFilter {
+
+        private static final int HASHES = 4;
+
+        private final AtomicLongArray words;
+        private final int mask;
+
+        BloomFilter(int bits) {
+            int size = Integer.highestOneBit(Math.max(64, bits - 1)) << 1;
+            this.words = new AtomicLongArray(size >>> 6);
+            this.mask = size - 1;
+        }
+
+        void add(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long bitMask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, bitMask, (word, set) -> word | set);
+            }
+        }
+
+        boolean mightContain(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
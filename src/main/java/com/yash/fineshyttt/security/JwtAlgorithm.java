@@ -0,0 +1,44 @@
+package com.yash.fineshyttt.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Supported JWT Signature Algorithms (security.jwt.algorithm)
+ *
+ * - RS256: RSA 2048+ (default, existing keys)
+ * - ES256: ECDSA P-256, much cheaper signing and smaller tokens
+ * - ES384: ECDSA P-384
+ *
+ * EdDSA (Ed25519) is not listed: jjwt 0.11.x cannot sign or verify it.
+ * It needs the jjwt 0.12 API migration.
+ *
+ * Keys are PEM files in the same formats for every algorithm:
+ * PKCS#8 private key ("BEGIN PRIVATE KEY"), X.509 public key ("BEGIN PUBLIC KEY").
+ * EC keys from "openssl ecparam -genkey" are SEC1 ("BEGIN EC PRIVATE KEY") and
+ * must be converted first: openssl pkcs8 -topk8 -nocrypt -in ec.pem
+ */
+public enum JwtAlgorithm {
+
+    RS256(SignatureAlgorithm.RS256, "RSA"),
+    ES256(SignatureAlgorithm.ES256, "EC"),
+    ES384(SignatureAlgorithm.ES384, "EC");
+
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final String keyFactoryAlgorithm;
+
+    JwtAlgorithm(SignatureAlgorithm signatureAlgorithm, String keyFactoryAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+    }
+
+    public SignatureAlgorithm signatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * @return JCA KeyFactory algorithm for loading this algorithm's PEM keys
+     */
+    public String keyFactoryAlgorithm() {
+        return keyFactoryAlgorithm;
+    }
+}
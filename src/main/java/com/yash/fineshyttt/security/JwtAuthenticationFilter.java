@@ -1,12 +1,13 @@
 package com.yash.fineshyttt.security;
 
+import com.yash.fineshyttt.domain.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.LongFunction;
 
 /**
  * JWT Authentication Filter
@@ -24,11 +26,14 @@ import java.io.IOException;
  *
  * Workflow:
  * 1. Extract JWT from "Authorization: Bearer <token>" header
- * 2. Validate JWT signature and expiration (via JwtService)
+ * 2. Validate JWT signature and expiration (via VerifiedTokenCache → JwtService)
  * 3. Validate token type (must be ACCESS token, not REFRESH)
- * 4. Load user from cache/database (via CachedUserDetailsService)
- * 5. Create Spring Security authentication token
- * 6. Populate SecurityContext (makes user available to entire request)
+ * 4. Reject revoked tokens (stale "gen" claim, via AccessTokenRevocationList)
+ * 5. Build principal (security.jwt.principal-mode):
+ *    - ENTITY: load user from cache/database (via CachedUserDetailsService)
+ *    - CLAIMS: from token claims only; User loaded lazily by getUser()
+ * 6. Create Spring Security authentication token
+ * 7. Populate SecurityContext (makes user available to entire request)
  *
  * Security Properties:
  * - Runs once per request (OncePerRequestFilter)
@@ -37,22 +42,46 @@ import java.io.IOException;
  * - Thread-safe (SecurityContext is thread-local)
  *
  * Performance Optimizations:
+ * - Verified token caching (signature checked once per token, not per request)
  * - User caching (95%+ cache hit rate)
+ * - CLAIMS mode: no user load at all, so cold caches (restarts, every node
+ *   of a cluster) don't stampede the users table
+ * - Revocation check is in-memory (bloom filter, exact entry only for
+ *   recently revoked users), never a database query
  * - Early exit for missing/invalid JWT
  * - Optional: Skip filter for public endpoints (see shouldNotFilter override)
  *
  * Future Enhancements:
- * - Add token revocation check (blacklist in Redis)
  * - Add device fingerprint validation
  * - Add anomaly detection (location hopping, etc.)
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CachedUserDetailsService cachedUserDetailsService; // CHANGED: Use cached version
+    private final AccessTokenRevocationList revocationList;
+    private final PrincipalMode principalMode;
+    private final LongFunction<User> userLoader;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            CachedUserDetailsService cachedUserDetailsService,
+            AccessTokenRevocationList revocationList,
+            JwtProperties properties
+    ) {
+        this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.cachedUserDetailsService = cachedUserDetailsService;
+        this.revocationList = revocationList;
+        this.principalMode = properties.getPrincipalMode();
+        this.userLoader = id -> ((UserPrincipal) cachedUserDetailsService.loadUserById(id)).getUser();
+
+        log.info("JWT principal mode: {}", principalMode);
+    }
 
     /**
      * Filter Execution
@@ -94,7 +123,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             // Step 2: Parse and validate JWT (signature + expiration)
-            Claims claims = jwtService.parseAndValidate(token);
+            // Repeat tokens are served from cache without re-verifying
+            Claims claims = verifiedTokenCache.verify(token);
 
             // Step 3: Validate token type (CRITICAL: prevents refresh token abuse)
             jwtService.validateAccessToken(claims);
@@ -105,12 +135,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.debug("JWT validated successfully: userId={}, email={}",
                     userId, claims.get("email", String.class));
 
-            // Step 5: Load user from cache/database
-            // Cache hit = 0ms, Cache miss = 10ms (DB query)
-            UserPrincipal userDetails =
-                    (UserPrincipal) cachedUserDetailsService.loadUserById(userId);
+            // Step 5: Reject revoked tokens (logout, disabled user, role removal)
+            if (revocationList.isRevoked(userId, jwtService.extractTokenGeneration(claims))) {
+                throw new JwtException("Token revoked");
+            }
+
+            // Step 6: Build principal
+            // ENTITY: cache hit = 0ms, cache miss = 10ms (DB query)
+            // CLAIMS: no lookup, User loaded only if a controller asks for it
+            UserPrincipal userDetails = principalMode == PrincipalMode.CLAIMS
+                    ? UserPrincipal.fromClaims(claims, userLoader)
+                    : (UserPrincipal) cachedUserDetailsService.loadUserById(userId);
 
-            // Step 6: Create Spring Security authentication token
+            // Step 7: Create Spring Security authentication token
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
                             userDetails, // Principal (contains User entity + roles)
@@ -118,12 +155,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             userDetails.getAuthorities() // Granted authorities (RBAC roles)
                     );
 
-            // Step 7: Attach request details (IP, session, etc.)
+            // Step 8: Attach request details (IP, session, etc.)
             authentication.setDetails(
                     new WebAuthenticationDetailsSource().buildDetails(request)
             );
 
-            // Step 8: Populate SecurityContext (makes user available to entire request)
+            // Step 9: Populate SecurityContext (makes user available to entire request)
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             log.debug("SecurityContext populated: userId={}, roles={}",
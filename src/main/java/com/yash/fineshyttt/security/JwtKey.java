@@ -0,0 +1,27 @@
+package com.yash.fineshyttt.security;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * One entry of the JwtKeyRing.
+ *
+ * @param kid Key ID written to / read from the token header
+ * @param privateKey Signing key, or null for verify-only keys
+ */
+public record JwtKey(
+        String kid,
+        JwtAlgorithm algorithm,
+        PrivateKey privateKey,
+        PublicKey publicKey
+) {
+    public boolean canSign() {
+        return privateKey != null;
+    }
+
+    @Override
+    public String toString() {
+        // Never print key material
+        return "JwtKey[kid=" + kid + ", algorithm=" + algorithm + ", canSign=" + canSign() + "]";
+    }
+}
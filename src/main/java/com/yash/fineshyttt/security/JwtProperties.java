@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "security.jwt")
 @Getter @Setter
@@ -12,4 +15,26 @@ public class JwtProperties {
     private String secret;
     private long accessTokenTtlSeconds;
     private long gracePeriodSeconds = 30;
+
+    // Signing algorithm, key material and access token settings (JwtService)
+    private JwtAlgorithm algorithm = JwtAlgorithm.RS256;
+    private String privateKeyPath;
+    private String publicKeyPath;
+    private long accessTtlMinutes = 15;
+    private long clockSkewSeconds = 30;
+
+    // Principal built by JwtAuthenticationFilter (ENTITY = load user per request)
+    private PrincipalMode principalMode = PrincipalMode.ENTITY;
+
+    // Key ring for kid-based rotation (JwtKeyRing); empty = single key above
+    private String activeKid;
+    private List<Key> keys = new ArrayList<>();
+
+    @Getter @Setter
+    public static class Key {
+        private String kid;
+        private JwtAlgorithm algorithm;
+        private String privateKeyPath;
+        private String publicKeyPath;
+    }
 }
@@ -0,0 +1,174 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password Hashing Executor
+ *
+ * Runs BCrypt (login verification, registration hashing) on a dedicated,
+ * bounded thread pool instead of the request thread.
+ *
+ * Problem:
+ * - BCrypt costs tens of milliseconds of CPU per call by design
+ * - Credential-stuffing spikes put every Tomcat thread into BCrypt, so
+ *   catalog and cart requests starved behind login attempts
+ *
+ * Solution:
+ * - A fixed pool (security.password-hashing.threads, default: CPU count)
+ *   caps the CPU that hashing can take
+ * - A bounded queue (queue-capacity) absorbs short bursts
+ * - When the queue is full the call fails immediately with
+ *   ServiceUnavailableException (503 + Retry-After) instead of queueing
+ *   the request thread behind thousands of hashes
+ * - Callers wait at most `timeout` for their hash
+ *
+ * Metrics:
+ * - auth.password.hash{operation=matches|encode}: time spent hashing (timer)
+ * - auth.password.hash.wait: queue wait before hashing starts (timer)
+ * - auth.password.hash.queue: queued tasks (gauge)
+ * - auth.password.hash.active: hashing threads busy (gauge)
+ * - auth.password.hash.rejected: calls shed with 503 (counter)
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout:PT5S}") Duration timeout
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeout.toMillis();
+        this.retryAfterSeconds = Math.max(1, timeout.toSeconds());
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .description("Password verification time")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .description("Password hashing time")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.hash.wait")
+                .description("Time queued before hashing started")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hash.rejected")
+                .description("Password hashing calls rejected (queue full or timed out)")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads busy")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor: threads={}, queueCapacity={}, timeout={}",
+                poolSize, queueCapacity, timeout);
+    }
+
+    /**
+     * Verify a password (login).
+     *
+     * @throws ServiceUnavailableException if hashing capacity is exhausted
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash a new password (registration, password change).
+     *
+     * @throws ServiceUnavailableException if hashing capacity is exhausted
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T run(Timer timer, Callable<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException(
+                    "Too many authentication requests, please retry shortly", retryAfterSeconds
+            );
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceUnavailableException(
+                    "Authentication is taking too long, please retry shortly", retryAfterSeconds
+            );
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,17 @@
+package com.yash.fineshyttt.security;
+
+/**
+ * How JwtAuthenticationFilter builds the request principal
+ * (security.jwt.principal-mode)
+ *
+ * - ENTITY: load the User entity with roles (CachedUserDetailsService)
+ *   on every request
+ * - CLAIMS: build the principal from the token's sub/email/roles claims;
+ *   the User entity is only loaded if a controller calls getUser()
+ *
+ * Both modes reject tokens whose "gen" claim is stale (AccessTokenRevocationList).
+ */
+public enum PrincipalMode {
+    ENTITY,
+    CLAIMS
+}
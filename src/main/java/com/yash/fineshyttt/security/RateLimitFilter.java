@@ -0,0 +1,172 @@
+package com.yash.fineshyttt.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yash.fineshyttt.config.ApiConstants;
+import com.yash.fineshyttt.config.RateLimitProperties;
+import com.yash.fineshyttt.exception.ErrorResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limit Filter
+ *
+ * Runs before JwtAuthenticationFilter, so rejected requests cost neither a
+ * JWT check nor a database connection.
+ *
+ * Problem:
+ * - Nothing limited request rates; one client looping on login or product
+ *   search could hold all Hikari connections (10) and starve everyone else
+ *
+ * Solution:
+ * - One TokenBucketLimiter per route group (RateLimitProperties)
+ * - Client key:
+ *   - AUTH group: client IP (callers are not authenticated yet)
+ *   - Others: user id from a valid bearer token, else client IP.
+ *     The token is verified through VerifiedTokenCache, so a forged
+ *     subject cannot drain another user's bucket, and the verification is
+ *     reused by JwtAuthenticationFilter right after
+ * - Over the limit: 429 TOO_MANY_REQUESTS with Retry-After (seconds)
+ *
+ * Client IP is request.getRemoteAddr(); behind a proxy enable
+ * server.forward-headers-strategy so it reflects X-Forwarded-For.
+ *
+ * Not filtered: health, actuator, JWKS (everything outside API_V1).
+ *
+ * Metrics:
+ * - rate_limit.rejected{group}: requests answered with 429 (counter)
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    enum RouteGroup { AUTH, CATALOG, ADMIN, API }
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private final TokenBucketLimiter[] limiters = new TokenBucketLimiter[RouteGroup.values().length];
+    private final Counter[] rejected = new Counter[RouteGroup.values().length];
+
+    public RateLimitFilter(
+            VerifiedTokenCache verifiedTokenCache,
+            ObjectMapper objectMapper,
+            RateLimitProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+
+        register(RouteGroup.AUTH, properties.getAuth(), properties.getStripes(), meterRegistry);
+        register(RouteGroup.CATALOG, properties.getCatalog(), properties.getStripes(), meterRegistry);
+        register(RouteGroup.ADMIN, properties.getAdmin(), properties.getStripes(), meterRegistry);
+        register(RouteGroup.API, properties.getApi(), properties.getStripes(), meterRegistry);
+
+        log.info("Rate limiting {}", enabled ? "enabled" : "disabled");
+    }
+
+    private void register(RouteGroup group, RateLimitProperties.Limit limit, int stripes, MeterRegistry meterRegistry) {
+        limiters[group.ordinal()] = new TokenBucketLimiter(limit.getCapacity(), limit.getPeriod(), stripes);
+        rejected[group.ordinal()] = Counter.builder("rate_limit.rejected")
+                .tag("group", group.name().toLowerCase())
+                .description("Requests rejected with 429")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(ApiConstants.API_V1);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RouteGroup group = resolveGroup(request.getRequestURI());
+        long waitNanos = limiters[group.ordinal()].tryAcquire(clientKey(request, group));
+
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected[group.ordinal()].increment();
+        reject(request, response, waitNanos);
+    }
+
+    static RouteGroup resolveGroup(String uri) {
+        if (uri.startsWith(ApiConstants.AUTH_BASE)) {
+            return RouteGroup.AUTH;
+        }
+        if (uri.startsWith(ApiConstants.PRODUCTS_BASE) || uri.startsWith(ApiConstants.CATEGORIES_BASE)) {
+            return RouteGroup.CATALOG;
+        }
+        if (uri.startsWith(ApiConstants.ADMIN_BASE)) {
+            return RouteGroup.ADMIN;
+        }
+        return RouteGroup.API;
+    }
+
+    /**
+     * User keys are even, IP keys odd, so the two never coincide.
+     */
+    private long clientKey(HttpServletRequest request, RouteGroup group) {
+        if (group != RouteGroup.AUTH) {
+            String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+                try {
+                    Claims claims = verifiedTokenCache.verify(authHeader.substring(BEARER_PREFIX.length()));
+                    return Long.parseLong(claims.getSubject()) << 1;
+                } catch (JwtException | IllegalArgumentException ex) {
+                    // Invalid token: limit by IP, JwtAuthenticationFilter deals with the token
+                }
+            }
+        }
+        return ((long) request.getRemoteAddr().hashCode() << 1) | 1L;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        log.debug("Rate limited {} {} from {}", request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        String requestId = request.getHeader("X-Request-ID");
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(429)
+                .error("TOO_MANY_REQUESTS")
+                .code("RATE_LIMITED")
+                .message("Too many requests, retry after " + retryAfterSeconds + "s")
+                .path(request.getRequestURI())
+                .requestId(requestId != null && !requestId.isBlank() ? requestId : UUID.randomUUID().toString())
+                .build());
+    }
+}
@@ -1,20 +1,37 @@
 package com.yash.fineshyttt.security;
 
 import com.yash.fineshyttt.config.ApiConstants;
+import com.yash.fineshyttt.config.MetricsScrapeProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Spring Security Configuration
@@ -23,7 +40,7 @@ import org.springframework.security.web.header.writers.XXssProtectionHeaderWrite
  * - Authentication (JWT-based, stateless)
  * - Authorization (role-based access control)
  * - Security headers (HSTS, CSP, X-Frame-Options, etc.)
- * - Filter chain (JWT filter before default authentication)
+ * - Filter chain (rate limit → JWT filter → default authentication)
  *
  * Security Model:
  * - Stateless (no HTTP sessions)
@@ -42,6 +59,7 @@ import org.springframework.security.web.header.writers.XXssProtectionHeaderWrite
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     /**
      * Authentication Manager Bean
@@ -74,7 +92,8 @@ public class SecurityConfig {
      * 3. Stateless sessions (no server-side session storage)
      * 4. Security headers (HSTS, CSP, X-Frame-Options, etc.)
      * 5. Authorization rules (public/admin/authenticated routes)
-     * 6. JWT filter (runs before default authentication)
+     * 6. Rate limit filter (429 before any authentication work)
+     * 7. JWT filter (runs before default authentication)
      *
      * Route Security Matrix:
      *
@@ -83,15 +102,19 @@ public class SecurityConfig {
      * | /api/v1/auth/**            | Public (permitAll)     | Authentication operations  |
      * | /api/v1/products/**        | Public (permitAll)     | Product catalog (read-only)|
      * | /api/v1/categories/**      | Public (permitAll)     | Category browsing          |
-     * | /api/health, /actuator/**  | Public (permitAll)     | Health monitoring          |
+     * | /api/health, /actuator/health | Public (permitAll)  | Health monitoring          |
+     * | /.well-known/jwks.json     | Public (permitAll)     | JWT public keys (JWKS)     |
      * | /api/v1/admin/**           | ADMIN role required    | Administrative operations  |
      * | /** (all other routes)     | Authenticated required | User-specific operations   |
      *
+     * Other actuator endpoints: actuatorSecurityFilterChain.
+     *
      * @param http HttpSecurity configuration builder
      * @return Configured SecurityFilterChain
      * @throws Exception if configuration fails
      */
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable()) // Disabled: JWT-based auth (stateless)
@@ -138,6 +161,10 @@ public class SecurityConfig {
                                 .policy("geolocation=(), microphone=(), camera=()"))
                 )
 
+                // Missing/invalid token: 401 (default would be 403 for anonymous)
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
                 // =========================
                 // AUTHORIZATION RULES
                 // =========================
@@ -153,7 +180,59 @@ public class SecurityConfig {
                 )
 
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
 
                 .build();
     }
+
+    /**
+     * Actuator Filter Chain
+     *
+     * Actuator runs on the management port (management.server.port, not
+     * published outside the cluster), but is locked down on its own as well:
+     *
+     * | Endpoint             | Access                                  |
+     * |----------------------|-----------------------------------------|
+     * | /actuator/health     | Public (load balancer, probes)          |
+     * | /actuator/prometheus | HTTP Basic scrape user (role METRICS)   |
+     * | everything else      | ADMIN role (JWT), e.g. /actuator/metrics |
+     *
+     * HTTP Basic only knows the scrape user (security.metrics-scrape), never
+     * the users table, so customer passwords cannot be tried here.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(
+            HttpSecurity http,
+            MetricsScrapeProperties scrape
+    ) throws Exception {
+        HttpStatusEntryPoint unauthorized = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(unauthorized))
+                .httpBasic(basic -> basic.authenticationEntryPoint(unauthorized))
+                .authenticationManager(scrapeAuthenticationManager(scrape))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class)).hasRole("METRICS")
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .addFilterBefore(jwtFilter, BasicAuthenticationFilter.class)
+                .build();
+    }
+
+    private static AuthenticationManager scrapeAuthenticationManager(MetricsScrapeProperties scrape) {
+        List<UserDetails> users = new ArrayList<>();
+        if (StringUtils.hasText(scrape.getPassword())) {
+            users.add(User.withUsername(scrape.getUsername())
+                    .password("{noop}" + scrape.getPassword()) // machine credential, compared as is
+                    .roles("METRICS")
+                    .build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(users));
+        return new ProviderManager(provider);
+    }
 }
@@ -0,0 +1,72 @@
+package com.yash.fineshyttt.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free striped token bucket
+ *
+ * Each stripe is a single long: the bucket's "theoretical arrival time"
+ * (GCRA form of a token bucket). A request is admitted if the bucket,
+ * after adding one emission interval, is no more than `capacity`
+ * intervals ahead of now; admission is one CAS.
+ *
+ * - No per-key objects: keys are hashed onto a fixed AtomicLongArray,
+ *   so a request allocates nothing and memory is bounded regardless of
+ *   how many IPs show up
+ * - Keys sharing a stripe share a bucket (stricter, never looser)
+ * - Refill is continuous (nanosecond resolution), not per tick
+ */
+public class TokenBucketLimiter {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray buckets;
+    private final int shift;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param capacity Requests allowed per period (and maximum burst)
+     * @param period   Time to refill a full bucket
+     * @param stripes  Number of buckets, rounded up to a power of two
+     */
+    public TokenBucketLimiter(int capacity, Duration period, int stripes) {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs capacity >= 1 and a positive period");
+        }
+
+        int size = Integer.highestOneBit(Math.max(2, stripes - 1)) << 1;
+        this.buckets = new AtomicLongArray(size);
+        this.shift = 64 - Integer.numberOfTrailingZeros(size);
+        this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @return 0 if admitted, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(long key) {
+        return tryAcquire(key, System.nanoTime() - origin);
+    }
+
+    long tryAcquire(long key, long nowNanos) {
+        int index = (int) ((key * GOLDEN_RATIO) >>> shift);
+
+        while (true) {
+            long arrival = buckets.get(index);
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long allowAt = next - burstNanos;
+
+            if (allowAt > nowNanos) {
+                return allowAt - nowNanos;
+            }
+            if (buckets.compareAndSet(index, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
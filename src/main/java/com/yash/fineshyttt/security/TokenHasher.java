@@ -1,25 +1,105 @@
 package com.yash.fineshyttt.security;
 
 import org.springframework.stereotype.Component;
+
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * Refresh Token Hasher (SHA-256)
+ *
+ * Hashes run on every login and refresh.
+ *
+ * Problem:
+ * - MessageDigest.getInstance did a provider lookup per call
+ * - The token was copied into a UTF-8 byte[] and the digest hex-encoded
+ *   into a new String (64 chars) only to be compared/indexed as text
+ *
+ * Solution:
+ * - Digests (with a scratch buffer) are pooled and reused; the pool is
+ *   shared by all threads rather than held per thread, so virtual threads
+ *   don't each create their own
+ * - ASCII tokens (our UUIDs) are hashed straight from their chars through
+ *   the scratch buffer; anything else falls back to UTF-8 encoding
+ * - Hashes are raw 32-byte arrays, stored as bytea (V10)
+ */
 @Component
 public class TokenHasher {
 
+    private static final int POOL_SIZE = 64;
+    private static final int SCRATCH_SIZE = 128;
+
+    private final MessageDigest prototype;
+    private final BlockingQueue<PooledDigest> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private record PooledDigest(MessageDigest digest, byte[] scratch) {}
+
+    public TokenHasher() {
+        try {
+            this.prototype = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Hash refresh token using SHA-256 (deterministic).
-     * SHA-256 is one-way and produces same hash for same input.
+     *
+     * @return 32-byte digest (new array, owned by the caller)
      */
-    public String hash(String token) {
+    public byte[] hash(String token) {
+        PooledDigest pooled = acquire();
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 not available", e);
+            update(pooled, token);
+            return pooled.digest().digest();
+        } finally {
+            release(pooled);
         }
     }
+
+    private static void update(PooledDigest pooled, String token) {
+        int length = token.length();
+        byte[] scratch = pooled.scratch();
+
+        if (length <= scratch.length) {
+            for (int i = 0; i < length; i++) {
+                char c = token.charAt(i);
+                if (c >= 0x80) {
+                    // Non-ASCII: UTF-8 encoding differs from the chars
+                    pooled.digest().update(token.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                scratch[i] = (byte) c;
+            }
+            pooled.digest().update(scratch, 0, length);
+        } else {
+            pooled.digest().update(token.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private PooledDigest acquire() {
+        PooledDigest pooled = pool.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+
+        try {
+            // clone() copies the initialized state: no provider lookup
+            return new PooledDigest(
+                    (MessageDigest) prototype.clone(),
+                    new byte[SCRATCH_SIZE]
+            );
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest not cloneable", e);
+        }
+    }
+
+    private void release(PooledDigest pooled) {
+        // digest() resets; reset() again in case hashing failed midway
+        pooled.digest().reset();
+        pool.offer(pooled);
+    }
 }
@@ -6,6 +6,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @RequiredArgsConstructor
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -20,4 +22,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserById(Long userId) {
         return new UserPrincipal(userService.findByIdWithRoles(userId));
     }
+
+    public Optional<Long> findUserIdByEmail(String email) {
+        return userService.findIdByEmail(email);
+    }
 }
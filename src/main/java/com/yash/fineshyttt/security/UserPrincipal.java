@@ -1,35 +1,88 @@
 package com.yash.fineshyttt.security;
 
 import com.yash.fineshyttt.domain.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.LongFunction;
 
+/**
+ * Authenticated user
+ *
+ * Two shapes:
+ * - Entity-backed: wraps a loaded User (login, principal-mode=ENTITY)
+ * - Claims-backed: id, email and roles from a verified access token;
+ *   the User entity is loaded on first getUser() call only
+ *
+ * Prefer userId() in controllers; call getUser() only when the service
+ * really needs the entity.
+ */
 public class UserPrincipal implements UserDetails {
 
-    private final User user;
+    private final Long userId;
+    private final String email;
+    private final List<SimpleGrantedAuthority> authorities;
+    private final LongFunction<User> userLoader;
+    private User user;
 
     public UserPrincipal(User user) {
+        this.userId = user.getId();
+        this.email = user.getEmail();
+        this.authorities = user.getRoles().stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r.getName()))
+                .toList();
+        this.userLoader = null;
         this.user = user;
     }
 
+    private UserPrincipal(Long userId, String email, List<SimpleGrantedAuthority> authorities,
+                          LongFunction<User> userLoader) {
+        this.userId = userId;
+        this.email = email;
+        this.authorities = authorities;
+        this.userLoader = userLoader;
+    }
+
+    /**
+     * Principal from verified access token claims, without a database lookup
+     *
+     * @param claims Verified ACCESS token claims (sub, email, roles)
+     * @param userLoader Loads the User entity if getUser() is called
+     */
+    public static UserPrincipal fromClaims(Claims claims, LongFunction<User> userLoader) {
+        List<?> roles = claims.get("roles", List.class);
+        List<SimpleGrantedAuthority> authorities = roles == null
+                ? List.of()
+                : roles.stream()
+                        .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                        .toList();
+
+        return new UserPrincipal(
+                Long.parseLong(claims.getSubject()),
+                claims.get("email", String.class),
+                authorities,
+                userLoader
+        );
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(r -> new SimpleGrantedAuthority("ROLE_" + r.getName()))
-                .toList();
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        // Claims-backed principals never carry credentials
+        return user != null ? user.getPasswordHash() : null;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -49,14 +102,22 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.isEnabled();
+        // Claims-backed: disabled users fail the token generation check
+        return user == null || user.isEnabled();
     }
 
     public Long userId() {
-        return user.getId();
+        return userId;
     }
 
+    /**
+     * User entity, loaded on first call for claims-backed principals.
+     * Principals are per request, so no synchronization is needed.
+     */
     public User getUser() {
+        if (user == null) {
+            user = userLoader.apply(userId);
+        }
         return user;
     }
 }
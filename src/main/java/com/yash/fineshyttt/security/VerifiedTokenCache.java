@@ -0,0 +1,144 @@
+package com.yash.fineshyttt.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified Token Cache
+ *
+ * Remembers the claims of access tokens whose signature has already been
+ * verified, until the token's own expiry.
+ *
+ * Problem:
+ * - JwtAuthenticationFilter verified the RS256 signature on EVERY request
+ * - An access token is reused for its whole lifetime (15 minutes), so the
+ *   same signature was verified hundreds of times
+ * - RSA verification (plus parser setup) was the top CPU consumer under load
+ *
+ * Solution:
+ * - First request: full verification via JwtService, claims cached
+ * - Repeat requests: lookup by token string, no parsing or crypto
+ * - Entry expires exactly at the token's exp claim (never outlives the token)
+ *
+ * Cache Key:
+ * - The full token string, bucketed by String.hashCode (cheap, single pass)
+ * - Deliberately NOT a bare 64-bit hash of the token: a colliding forged
+ *   token would be handed another user's verified claims. Comparing the full
+ *   string on hit keeps the cache exactly as strict as verification.
+ *
+ * Cache Configuration:
+ * - Max size: security.jwt.verified-cache.max-size (default 50,000 tokens,
+ *   roughly 50 MB at ~1 KB per token + claims)
+ * - Kill switch: security.jwt.verified-cache.enabled=false verifies every time
+ *
+ * Trade-offs:
+ * - Only signature/expiry results are cached; token type and user state are
+ *   still checked per request by the filter
+ * - Invalid tokens are never cached (failures always re-verify)
+ *
+ * Metrics (MeterBinder): cache.* tagged cache=verified_tokens
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            @Value("${security.jwt.verified-cache.enabled:true}") boolean enabled,
+            @Value("${security.jwt.verified-cache.max-size:50000}") long maximumSize
+    ) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        log.info("Verified token cache {} (maxSize={})",
+                enabled ? "enabled" : "disabled", maximumSize);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verified_tokens");
+    }
+
+    /**
+     * Verify Token (with caching)
+     *
+     * @param token Compact JWT (header.payload.signature)
+     * @return Verified claims
+     * @throws io.jsonwebtoken.JwtException if token invalid, expired, or tampered
+     */
+    public Claims verify(String token) {
+        if (!enabled) {
+            return jwtService.parseAndValidate(token);
+        }
+
+        Claims claims = cache.getIfPresent(token);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = jwtService.parseAndValidate(token);
+
+        // Tokens without exp would never expire from the cache
+        if (claims.getExpiration() != null) {
+            cache.put(token, claims);
+        }
+        return claims;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        log.warn("Verified token cache invalidated");
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getCacheSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Expire each entry at its token's exp claim.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -5,11 +5,16 @@ import com.yash.fineshyttt.domain.User;
 import com.yash.fineshyttt.exception.AuthenticationException;
 import com.yash.fineshyttt.repository.RoleRepository;
 import com.yash.fineshyttt.repository.UserRepository;
-// REMOVE: import com.yash.fineshyttt.security.CachedUserDetailsService;
+import com.yash.fineshyttt.security.PasswordHashingExecutor;
+import com.yash.fineshyttt.service.cache.CacheInvalidationBus;
+import com.yash.fineshyttt.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,51 +24,148 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashing;
+    private final CacheInvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional(readOnly = true)
     public User findByEmail(String email) {
-        return userRepository.findByEmail(normalize(email))
+        return userRepository.findByEmail(normalizeEmail(email))
                 .orElseThrow(() -> new AuthenticationException("Invalid credentials"));
     }
 
+    /**
+     * User id for an email, without loading the user (login index, see
+     * CachedUserDetailsService).
+     *
+     * Not read-only, like findByIdWithRoles: cache loads read the primary.
+     */
+    @Transactional
+    public Optional<Long> findIdByEmail(String email) {
+        return userRepository.findIdByEmail(normalizeEmail(email));
+    }
+
     @Transactional(readOnly = true)
     public User findById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new AuthenticationException("User not found"));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * User with roles for the principal cache (CachedUserDetailsService)
+     *
+     * Not read-only on purpose: with read/write routing a read-only
+     * transaction may hit a replica that has not replayed the change whose
+     * USER invalidation just emptied the cache, and the stale principal
+     * (still enabled, old roles) would be cached for the
+     * whole TTL. A read-write transaction always runs on the primary.
+     */
+    @Transactional
     public User findByIdWithRoles(Long userId) {
         return userRepository.findByIdWithRoles(userId)
                 .orElseThrow(() -> new AuthenticationException("User not found"));
     }
 
+    /**
+     * Revoke every access token issued to the user so far
+     * (bumps users.token_generation; see AccessTokenRevocationList).
+     */
+    @Transactional
+    public void revokeAccessTokens(Long userId) {
+        userRepository.incrementTokenGeneration(userId, Instant.now());
+        invalidationBus.publish(CacheInvalidationBus.USER, userId);
+    }
+
+    /**
+     * Enable or disable an account (admin)
+     *
+     * Disabling also revokes outstanding access tokens; refresh is already
+     * refused for disabled accounts.
+     */
+    @Transactional
+    public void setEnabled(Long userId, boolean enabled) {
+        User user = loadForUpdate(userId);
+        if (user.isEnabled() == enabled) {
+            return;
+        }
+
+        user.setEnabled(enabled);
+        if (!enabled) {
+            user.revokeAccessTokens();
+        }
+        invalidationBus.publish(CacheInvalidationBus.USER, userId);
+    }
+
+    /**
+     * Grant a role (admin). Takes effect on the user's next token.
+     */
     @Transactional
+    public void grantRole(Long userId, String roleName) {
+        User user = loadForUpdate(userId);
+        if (user.getRoles().add(findRole(roleName))) {
+            invalidationBus.publish(CacheInvalidationBus.USER, userId);
+        }
+    }
+
+    /**
+     * Revoke a role (admin)
+     *
+     * Access tokens carry roles, so outstanding tokens are revoked as well;
+     * the user's next refresh issues a token without the role.
+     */
+    @Transactional
+    public void revokeRole(Long userId, String roleName) {
+        User user = loadForUpdate(userId);
+        if (user.getRoles().remove(findRole(roleName))) {
+            user.revokeAccessTokens();
+            invalidationBus.publish(CacheInvalidationBus.USER, userId);
+        }
+    }
+
+    /**
+     * Register a customer (ROLE_USER)
+     *
+     * Not @Transactional: BCrypt (PasswordHashingExecutor) runs first, with
+     * no transaction open, so no pooled connection is held while it hashes.
+     * The insert then gets its own short transaction.
+     */
     public void registerCustomer(String email, String rawPassword) {
-        String normalizedEmail = normalize(email);
+        String normalizedEmail = normalizeEmail(email);
 
+        // Duplicates are rejected before paying for a hash; the unique
+        // constraint on email covers a concurrent registration
         if (userRepository.existsByEmail(normalizedEmail)) {
             throw new IllegalStateException("Email already registered");
         }
 
-        Role userRole = roleRepository.findByName(ROLE_USER)
-                .orElseThrow(() ->
-                        new IllegalStateException("Required role ROLE_USER not found"));
+        String passwordHash = passwordHashing.encode(rawPassword);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Role userRole = roleRepository.findByName(ROLE_USER)
+                    .orElseThrow(() ->
+                            new IllegalStateException("Required role ROLE_USER not found"));
 
-        User user = new User(
-                normalizedEmail,
-                passwordEncoder.encode(rawPassword)
-        );
+            User user = new User(normalizedEmail, passwordHash);
 
-        user.getRoles().add(userRole);
+            user.getRoles().add(userRole);
 
-        user.setEmailVerified(true);
+            user.setEmailVerified(true);
+
+            userRepository.save(user);
+        });
+    }
+
+    private User loadForUpdate(Long userId) {
+        return userRepository.findByIdWithRoles(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
 
-        userRepository.save(user);
+    private Role findRole(String roleName) {
+        return roleRepository.findByName(roleName.trim().toUpperCase())
+                .orElseThrow(() -> new ResourceNotFoundException("Role not found: " + roleName));
     }
 
-    private String normalize(String email) {
+    public static String normalizeEmail(String email) {
         return email.trim().toLowerCase();
     }
 }
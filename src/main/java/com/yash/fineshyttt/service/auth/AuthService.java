@@ -3,22 +3,29 @@ package com.yash.fineshyttt.service.auth;
 import com.yash.fineshyttt.domain.User;
 import com.yash.fineshyttt.dto.auth.AuthResponse;
 import com.yash.fineshyttt.exception.AuthenticationException;
+import com.yash.fineshyttt.security.CachedUserDetailsService;
 import com.yash.fineshyttt.security.JwtService;
+import com.yash.fineshyttt.security.PasswordHashingExecutor;
 import com.yash.fineshyttt.security.UserPrincipal;
 import com.yash.fineshyttt.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
 @Service
 @RequiredArgsConstructor
+@Timed(value = "auth.operations", histogram = true)
 public class AuthService {
 
     private final UserService userService;
+    private final CachedUserDetailsService cachedUserDetailsService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashing;
+    private final LastLoginRecorder lastLoginRecorder;
 
     /**
      * Authenticate User and Issue Token Pair
@@ -27,12 +34,18 @@ public class AuthService {
      * 1. Lookup user by email
      * 2. Validate account status (enabled/disabled)
      * 3. Verify password hash
-     * 4. Update login timestamp
+     * 4. Record login timestamp (written asynchronously by LastLoginRecorder)
      * 5. Generate stateless access token (JWT)
      * 6. Create stateful refresh token with device binding
      * <p>
      * Security Notes:
      * - Password comparison uses constant-time algorithm
+     * - BCrypt runs on the bounded PasswordHashingExecutor; when it is
+     *   saturated the login is shed with 503 instead of tying up the request thread
+     * - Not @Transactional: the lookup is served by the user cache (short
+     *   transactions on a miss) and the password is verified with no
+     *   transaction open, so no pooled connection waits on BCrypt; the
+     *   refresh token insert is its own short transaction
      * - Device fingerprint enables session tracking and anomaly detection
      * - Failed authentication throws generic error to prevent user enumeration
      *
@@ -41,12 +54,12 @@ public class AuthService {
      * @param deviceFingerprint Client device identifier (browser fingerprint, IP, user-agent hash)
      * @return AuthResponse containing access token and refresh token
      * @throws AuthenticationException if credentials invalid or account disabled
+     * @throws com.yash.fineshyttt.exception.ServiceUnavailableException if password hashing capacity is exhausted
      */
-    @Transactional
     public AuthResponse login(String email, String password, String deviceFingerprint) {
 
-        // Lookup user - throws exception if not found
-        User user = userService.findByEmail(email);
+        // Lookup user (email index + cached principal) - throws exception if not found
+        User user = cachedUserDetailsService.loadUserByEmail(email);
 
         // Check account status before password verification
         if (!user.isEnabled()) {
@@ -54,17 +67,17 @@ public class AuthService {
         }
 
         // Constant-time password comparison to prevent timing attacks
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashing.matches(password, user.getPasswordHash())) {
             throw new AuthenticationException("Invalid credentials");
         }
 
-        // Update last_login_at timestamp (domain logic)
-        user.recordLogin();
+        // last_login_at is flushed in batches; no users row write on the login path
+        lastLoginRecorder.record(user.getId(), Instant.now());
 
         // Generate stateless JWT access token (short-lived)
         String accessToken = jwtService.generateAccessToken(user);
 
-        // Create stateful refresh token with device binding
+        // Create stateful refresh token with device binding (own transaction)
         RefreshTokenResult refresh = refreshTokenService.create(user, deviceFingerprint);
 
         return new AuthResponse(accessToken, refresh.rawValue());
@@ -99,8 +112,12 @@ public class AuthService {
         // This ensures atomic validation, rotation, and reuse detection
         RefreshTokenResult rotatedToken = refreshTokenService.validateAndRotate(rawRefreshToken);
 
-        // Extract user from validated token result
-        User user = userService.findById(rotatedToken.userId());
+        // Extract user from validated token result (cached principal, no extra query)
+        User user = cachedUserDetailsService.loadUser(rotatedToken.userId());
+
+        if (!user.isEnabled()) {
+            throw new AuthenticationException("Account disabled");
+        }
 
         // Generate new stateless access token
         String accessToken = jwtService.generateAccessToken(user);
@@ -117,7 +134,7 @@ public class AuthService {
      *
      * Behavior:
      * - Revokes ALL refresh tokens for the authenticated user
-     * - Access tokens expire naturally (cannot be revoked server-side)
+     * - Revokes outstanding access tokens (token generation bump)
      * - User must re-authenticate to obtain new tokens
      *
      * Security Notes:
@@ -135,5 +152,8 @@ public class AuthService {
     public void logout(UserPrincipal principal) {
         // Revoke all refresh tokens for this user across all devices/sessions
         refreshTokenService.revokeAllForUser(principal.userId());
+
+        // Outstanding access tokens stop working too (token generation bump)
+        userService.revokeAccessTokens(principal.userId());
     }
 }
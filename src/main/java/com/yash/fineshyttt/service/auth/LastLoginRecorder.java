@@ -0,0 +1,174 @@
+package com.yash.fineshyttt.service.auth;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Last Login Recorder
+ *
+ * Problem:
+ * - login() set users.last_login_at inside the login transaction, so every
+ *   login was a row UPDATE on users (row lock, WAL, index churn) that
+ *   contended with profile reads and added a write to login latency
+ *
+ * Solution:
+ * - login() only records (userId → timestamp) in memory
+ * - A scheduled flush (auth.last-login.flush-interval, default 5s) writes
+ *   all pending timestamps as one statement per chunk:
+ *     UPDATE users u SET last_login_at = v.ts
+ *     FROM (VALUES (?, ?), ...) AS v(id, ts)
+ *     WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.ts)
+ * - Repeated logins of one user between flushes collapse to one row
+ * - Timestamps never move backwards (guard in the WHERE clause)
+ * - Databases without UPDATE ... FROM (H2 in tests) use a JDBC batch
+ *
+ * Trade-off:
+ * - last_login_at lags by up to one flush interval and pending timestamps
+ *   are lost if the JVM dies without shutdown (the value is informational)
+ * - Failed flushes are re-queued and retried on the next run
+ *
+ * Metrics:
+ * - auth.last_login.pending: users waiting for a flush (gauge)
+ * - auth.last_login.flush: flush duration (timer)
+ */
+@Component
+@Slf4j
+public class LastLoginRecorder {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    // Not synchronized: a flush blocks on JDBC and would pin a virtual thread
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile Boolean updateFromSupported;
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTimer = Timer.builder("auth.last_login.flush")
+                .description("Batched last_login_at flush duration")
+                .register(meterRegistry);
+        Gauge.builder("auth.last_login.pending", pending, Map::size)
+                .description("Users with a login not yet written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remember a login; written by the next flush.
+     */
+    public void record(Long userId, Instant loginAt) {
+        pending.merge(userId, loginAt, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${auth.last-login.flush-interval:PT5S}",
+            initialDelayString = "${auth.last-login.flush-interval:PT5S}"
+    )
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Write all pending timestamps.
+     *
+     * @return Users written
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            return drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int drainAndWrite() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // Logins arriving during the drain stay pending for the next flush
+        List<Map.Entry<Long, Instant>> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            Instant loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                batch.add(Map.entry(userId, loginAt));
+            }
+        }
+
+        try {
+            flushTimer.record(() -> {
+                for (int from = 0; from < batch.size(); from += CHUNK_SIZE) {
+                    write(batch.subList(from, Math.min(from + CHUNK_SIZE, batch.size())));
+                }
+            });
+            log.debug("Flushed last_login_at for {} users", batch.size());
+            return batch.size();
+        } catch (DataAccessException ex) {
+            log.warn("Last login flush failed for {} users, retrying next run: {}", batch.size(), ex.getMessage());
+            batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+            return 0;
+        }
+    }
+
+    private void write(List<Map.Entry<Long, Instant>> chunk) {
+        if (supportsUpdateFrom()) {
+            StringBuilder sql = new StringBuilder(
+                    "UPDATE users u SET last_login_at = v.ts FROM (VALUES ");
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(?::bigint, ?::timestamp)");
+                args[i * 2] = chunk.get(i).getKey();
+                args[i * 2 + 1] = Timestamp.from(chunk.get(i).getValue());
+            }
+            sql.append(") AS v(id, ts) WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.ts)");
+            jdbcTemplate.update(sql.toString(), args);
+        } else {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)",
+                    chunk.stream()
+                            .map(entry -> {
+                                Timestamp ts = Timestamp.from(entry.getValue());
+                                return new Object[]{ts, entry.getKey(), ts};
+                            })
+                            .toList()
+            );
+        }
+    }
+
+    private boolean supportsUpdateFrom() {
+        Boolean supported = updateFromSupported;
+        if (supported == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            );
+            supported = "PostgreSQL".equalsIgnoreCase(product);
+            updateFromSupported = supported;
+        }
+        return supported;
+    }
+}
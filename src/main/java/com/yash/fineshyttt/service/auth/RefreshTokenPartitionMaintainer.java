@@ -0,0 +1,213 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.yash.fineshyttt.config.RefreshTokenPartitionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Refresh Token Partition Maintainer
+ *
+ * refresh_tokens is partitioned by expires_at, one partition per day (V9),
+ * without a DEFAULT partition: an insert whose expiry has no partition
+ * fails, and with it the login or refresh that issued the token.
+ *
+ * Creation (always on, independent of refresh-token.purge.enabled):
+ * - At startup, before the application serves traffic, partitions for
+ *   today .. today + daysAhead are created; startup fails if one of them
+ *   cannot be
+ * - Then every refresh-token.partitions.interval, so the horizon moves
+ *   with the date
+ * - daysAhead must exceed security.jwt.refresh-ttl-days, checked at startup
+ *
+ * Dropping (RefreshTokenPurgeJob, only when the purge is enabled):
+ * - Partitions whose whole range ended before yesterday are dropped:
+ *   every row in them is expired, so no row-by-row delete is needed.
+ *   The one-day margin absorbs time zone differences between the JVM and
+ *   the stored timestamps
+ * - Dropping an attached partition locks refresh_tokens ACCESS EXCLUSIVE
+ *   (every login and refresh waits), so it is first detached with
+ *   DETACH PARTITION CONCURRENTLY (PostgreSQL 14+, outside a transaction,
+ *   refused while a DEFAULT partition exists) and the detached table is dropped
+ * - An interrupted concurrent detach leaves the partition "detach pending";
+ *   the next run finishes it with DETACH PARTITION FINALIZE. A table left
+ *   detached but not dropped is dropped by the next run
+ *
+ * Both are skipped when the table is not partitioned (e.g. H2).
+ *
+ * Metrics:
+ * - refresh_token.partitions.failures{operation=create|drop} (counter),
+ *   each failure is also logged at ERROR
+ */
+@Component
+@Slf4j
+public class RefreshTokenPartitionMaintainer {
+
+    private static final String PARTITION_PREFIX = "refresh_tokens_p";
+    private static final DateTimeFormatter PARTITION_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RefreshTokenPartitionProperties properties;
+
+    private final Counter createFailures;
+    private final Counter dropFailures;
+
+    public RefreshTokenPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            RefreshTokenPartitionProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${security.jwt.refresh-ttl-days}") long refreshTtlDays
+    ) {
+        if (properties.getDaysAhead() <= refreshTtlDays) {
+            throw new IllegalStateException(String.format(
+                    "refresh-token.partitions.days-ahead (%d) must be greater than security.jwt.refresh-ttl-days (%d)",
+                    properties.getDaysAhead(), refreshTtlDays
+            ));
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+
+        this.createFailures = Counter.builder("refresh_token.partitions.failures")
+                .tag("operation", "create")
+                .description("Refresh token partitions that could not be created")
+                .register(meterRegistry);
+        this.dropFailures = Counter.builder("refresh_token.partitions.failures")
+                .tag("operation", "drop")
+                .description("Expired refresh token partitions that could not be dropped")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void createAtStartup() {
+        if (!isPartitioned()) {
+            return;
+        }
+
+        int failed = createAhead(LocalDate.now());
+        if (failed > 0) {
+            throw new IllegalStateException(
+                    "Could not create " + failed + " refresh token partitions, tokens expiring then cannot be stored");
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${refresh-token.partitions.interval:PT1H}",
+            initialDelayString = "${refresh-token.partitions.interval:PT1H}"
+    )
+    public void extend() {
+        if (isPartitioned()) {
+            createAhead(LocalDate.now());
+        }
+    }
+
+    /**
+     * Create the daily partitions for today .. today + daysAhead.
+     *
+     * @param today Current date (JVM zone)
+     * @return Partitions that could not be created
+     */
+    int createAhead(LocalDate today) {
+        int failed = 0;
+
+        for (int day = 0; day <= properties.getDaysAhead(); day++) {
+            LocalDate from = today.plusDays(day);
+            String partition = PARTITION_PREFIX + PARTITION_DATE.format(from);
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF refresh_tokens FOR VALUES FROM ('%s') TO ('%s')",
+                        partition, from, from.plusDays(1)
+                ));
+            } catch (DataAccessException ex) {
+                failed++;
+                createFailures.increment();
+                log.error("Could not create refresh token partition {}: {}", partition, ex.getMessage());
+            }
+        }
+
+        return failed;
+    }
+
+    /**
+     * Detach and drop the partitions whose whole range ended before yesterday.
+     *
+     * @param today Current date (JVM zone)
+     * @return Partitions dropped
+     */
+    int dropExpired(LocalDate today) {
+        LocalDate dropBefore = today.minusDays(1);
+        // Attached (false), detach pending (true) or already detached (null)
+        List<Partition> partitions = jdbcTemplate.query("""
+                SELECT c.relname, i.inhdetachpending
+                FROM pg_class c
+                LEFT JOIN pg_inherits i ON i.inhrelid = c.oid
+                WHERE c.relkind = 'r'
+                  AND c.relname LIKE 'refresh\\_tokens\\_p%'
+                  AND pg_table_is_visible(c.oid)
+                """, (rs, row) -> new Partition(rs.getString(1), (Boolean) rs.getObject(2)));
+
+        int dropped = 0;
+
+        for (Partition partition : partitions) {
+            LocalDate day = partitionDay(partition.name());
+            // Range is [day, day + 1): fully expired once day + 1 <= dropBefore
+            if (day == null || day.plusDays(1).isAfter(dropBefore)) {
+                continue;
+            }
+            String detach = "ALTER TABLE refresh_tokens DETACH PARTITION " + partition.name();
+            try {
+                if (Boolean.FALSE.equals(partition.detachPending())) {
+                    jdbcTemplate.execute(detach + " CONCURRENTLY");
+                } else if (Boolean.TRUE.equals(partition.detachPending())) {
+                    jdbcTemplate.execute(detach + " FINALIZE");
+                }
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+            } catch (DataAccessException ex) {
+                dropFailures.increment();
+                log.error("Could not drop refresh token partition {}: {}", partition.name(), ex.getMessage());
+                continue;
+            }
+            dropped++;
+            log.info("Dropped expired refresh token partition {}", partition.name());
+        }
+
+        return dropped;
+    }
+
+    record Partition(String name, Boolean detachPending) {
+    }
+
+    boolean isPartitioned() {
+        try {
+            List<String> kinds = jdbcTemplate.queryForList(
+                    "SELECT relkind::text FROM pg_class WHERE relname = 'refresh_tokens'", String.class
+            );
+            return kinds.contains("p");
+        } catch (DataAccessException ex) {
+            // Not PostgreSQL
+            return false;
+        }
+    }
+
+    static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_DATE);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.yash.fineshyttt.config.RefreshTokenPurgeProperties;
+import com.yash.fineshyttt.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Refresh Token Purge Job
+ *
+ * Every refresh rotates the token, so refresh_tokens gains a row per refresh
+ * and (before this job) never lost one.
+ *
+ * Purge Rules:
+ * - Expired: expires_at in the past
+ * - Revoked: revoked_at older than refresh-token.purge.revoked-retention,
+ *   but never less than security.jwt.refresh-ttl-days: until it expires a
+ *   revoked token can still be presented, and reuse detection
+ *   (RefreshTokenService) needs its row to revoke the family
+ *
+ * Partitions (refresh_tokens partitioned by expires_at, see V9):
+ * - Fully expired partitions are detached and dropped first
+ *   (RefreshTokenPartitionMaintainer.dropExpired); creating partitions
+ *   ahead is not part of the purge and runs even when it is disabled
+ *
+ * Batching (rows not covered by a partition drop):
+ * - Candidates are scanned keyset-style (id > lastId ORDER BY id LIMIT batchSize)
+ * - Each batch is deleted in its own short transaction
+ * - The purge predicate is re-checked in the DELETE
+ * - Runs sleep for the configured throttle between batches and stop
+ *   after maxBatchesPerRun; the next run picks up the remainder
+ *
+ * Metrics:
+ * - refresh_token.purge.deleted{type=rows|partitions} (counter)
+ * - refresh_token.purge.duration: run duration (timer)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "refresh-token.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository repository;
+    private final RefreshTokenPurgeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final RefreshTokenPartitionMaintainer partitionMaintainer;
+    private final Duration revokedRetention;
+
+    private final Counter rowsDeleted;
+    private final Counter partitionsDropped;
+    private final Timer runTimer;
+
+    public RefreshTokenPurgeJob(
+            RefreshTokenRepository repository,
+            RefreshTokenPurgeProperties properties,
+            TransactionTemplate transactionTemplate,
+            RefreshTokenPartitionMaintainer partitionMaintainer,
+            MeterRegistry meterRegistry,
+            @Value("${security.jwt.refresh-ttl-days}") long refreshTtlDays
+    ) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionMaintainer = partitionMaintainer;
+
+        Duration refreshTtl = Duration.ofDays(refreshTtlDays);
+        if (properties.getRevokedRetention().compareTo(refreshTtl) < 0) {
+            log.warn("refresh-token.purge.revoked-retention {} is below the refresh token TTL, using {}",
+                    properties.getRevokedRetention(), refreshTtl);
+            this.revokedRetention = refreshTtl;
+        } else {
+            this.revokedRetention = properties.getRevokedRetention();
+        }
+
+        this.rowsDeleted = Counter.builder("refresh_token.purge.deleted")
+                .tag("type", "rows")
+                .description("Expired or revoked refresh tokens deleted")
+                .register(meterRegistry);
+        this.partitionsDropped = Counter.builder("refresh_token.purge.deleted")
+                .tag("type", "partitions")
+                .description("Expired refresh token partitions dropped")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("refresh_token.purge.duration")
+                .description("Refresh token purge run duration")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${refresh-token.purge.interval:PT1H}",
+            initialDelayString = "${refresh-token.purge.initial-delay:PT10M}"
+    )
+    public void purge() {
+        runTimer.record(() -> {
+            if (partitionMaintainer.isPartitioned()) {
+                partitionsDropped.increment(partitionMaintainer.dropExpired(LocalDate.now()));
+            }
+            purgeOnce();
+        });
+    }
+
+    /**
+     * Run one bounded row purge pass.
+     *
+     * @return Rows deleted
+     */
+    public long purgeOnce() {
+        Instant now = Instant.now();
+        Instant revokedBefore = now.minus(revokedRetention);
+        PageRequest batch = PageRequest.of(0, properties.getBatchSize());
+
+        long lastId = 0L;
+        long total = 0L;
+
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            List<Long> ids = repository.findPurgeableIds(lastId, now, revokedBefore, batch);
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            Integer deleted = transactionTemplate.execute(status ->
+                    repository.deletePurgeable(ids, now, revokedBefore)
+            );
+
+            total += deleted;
+            rowsDeleted.increment(deleted);
+
+            lastId = ids.get(ids.size() - 1);
+
+            if (ids.size() < properties.getBatchSize() || !throttle()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Refresh token purge deleted rows={}", total);
+        }
+
+        return total;
+    }
+
+    private boolean throttle() {
+        long pauseMillis = properties.getThrottle().toMillis();
+        if (pauseMillis <= 0) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Refresh token purge interrupted, remaining rows deferred to next run");
+            return false;
+        }
+    }
+}
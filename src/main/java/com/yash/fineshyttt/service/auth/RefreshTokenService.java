@@ -5,8 +5,9 @@ import com.yash.fineshyttt.domain.User;
 import com.yash.fineshyttt.exception.AuthenticationException;
 import com.yash.fineshyttt.repository.RefreshTokenRepository;
 import com.yash.fineshyttt.security.TokenHasher;
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +17,12 @@ import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "auth.refresh_tokens", histogram = true)
 public class RefreshTokenService {
 
     private final RefreshTokenRepository repository;
     private final TokenHasher tokenHasher;
+    private final RotatedTokenIndex rotatedTokenIndex;
 
     @Value("${security.jwt.refresh-ttl-days}")
     private long refreshTtlDays;
@@ -71,20 +74,26 @@ public class RefreshTokenService {
      * This is the core security operation implementing token rotation.
      *
      * Workflow (atomic transaction):
-     * 1. Lookup token by hash
-     * 2. Validate: expiration, revocation status
-     * 3. Detect reuse: if already revoked, trigger family revocation
-     * 4. Revoke old token (mark as used)
-     * 5. Create new token with SAME device fingerprint (preserve session identity)
-     * 6. Return new token + user
+     * 1. Recently rotated on this instance? Reject as a retry (no DB access)
+     * 2. Lookup token by hash
+     * 3. Validate: expiration, revocation status
+     * 4. Detect reuse: if already revoked, trigger family revocation
+     * 5. Revoke old token with a conditional UPDATE (only if still active)
+     * 6. Create new token with SAME device fingerprint (preserve session identity)
+     * 7. Return new token + user
      *
      * Security Properties:
      * - Single-use tokens: Old token immediately invalidated
-     * - Atomic rotation: No race condition between revoke and create
+     * - Atomic rotation: the conditional revoke lets exactly one concurrent
+     *   request win; losers are treated as grace-window retries
      * - Device context preserved: New token inherits device fingerprint
      * - Reuse detection: Second use of revoked token triggers full revocation
      * - Token family continuity: Session tracking maintained across rotations
      *
+     * Writes per rotation: one single-row UPDATE and one INSERT. The loaded
+     * entity is never modified, so no dirty-check UPDATE is flushed. (The
+     * INSERT can't join a JDBC batch: IDENTITY keys are fetched per row.)
+     *
      * Attack Mitigation:
      * - Replay attacks: Token valid only once
      * - Token theft: Reuse triggers immediate family revocation
@@ -97,8 +106,14 @@ public class RefreshTokenService {
     @Transactional
     public RefreshTokenResult validateAndRotate(String rawToken){
 
+        byte[] hash = tokenHasher.hash(rawToken);
+
+        // Retry of a rotation that just happened here: within grace by construction
+        if (rotatedTokenIndex.isRecentlyRotated(hash)) {
+            throw new AuthenticationException("Refresh token already used");
+        }
+
         // Lookup token by hash
-        String hash = tokenHasher.hash(rawToken);
         RefreshToken oldToken = repository.findByTokenHash(hash)
                 .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
 
@@ -116,8 +131,12 @@ public class RefreshTokenService {
             handleReuseAttack(oldToken, now);
         }
 
-        // Step 1: Revoke old token (mark as used)
-        oldToken.revoke(now);
+        // Step 1: Revoke old token (mark as used), only if nobody beat us to it
+        if (repository.revokeIfActive(oldToken.getId(), now) == 0) {
+            // Concurrent rotation of the same token committed first: a retry
+            throw new AuthenticationException("Refresh token already used");
+        }
+        rotatedTokenIndex.recordRotation(hash, now);
 
         // Step 2: Create new token with SAME device fingerprint
         // This preserves session identity for anomaly detection
@@ -181,7 +200,7 @@ public class RefreshTokenService {
      *
      * Effect:
      * - All refresh tokens for user immediately invalidated
-     * - Access tokens expire naturally (cannot be revoked)
+     * - Access tokens: revoked separately via UserService.revokeAccessTokens
      * - User must re-authenticate to obtain new tokens
      *
      * Future Enhancement:
@@ -0,0 +1,83 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Recently Rotated Refresh Tokens
+ *
+ * Hashes of refresh tokens rotated on this instance within the reuse grace
+ * window (security.jwt.reuse-grace-seconds).
+ *
+ * Problem:
+ * - Mobile clients retry and fire parallel refreshes with the same token
+ * - Each retry cost a findByTokenHash lookup only to be told
+ *   "already used" by the grace-window check
+ *
+ * Solution:
+ * - After a rotation commits, its old hash is remembered until the grace
+ *   window closes (entries expire exactly then)
+ * - A hit means "rotated less than grace seconds ago": answered without the DB
+ * - A miss proves nothing (other instance, or grace window over), so the
+ *   caller falls back to the database check
+ */
+@Component
+public class RotatedTokenIndex implements MeterBinder {
+
+    // Keyed by ByteBuffer.wrap(hash): content-based equals/hashCode for byte[]
+    private final Cache<ByteBuffer, Instant> rotated;
+
+    public RotatedTokenIndex(
+            @Value("${security.jwt.reuse-grace-seconds}") long reuseGraceSeconds,
+            @Value("${security.jwt.rotated-index.max-size:100000}") long maximumSize
+    ) {
+        this.rotated = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(reuseGraceSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, rotated, "rotated_refresh_tokens");
+    }
+
+    /**
+     * @param tokenHash Hash of the presented refresh token
+     * @return true if this instance rotated the token within the grace window
+     */
+    public boolean isRecentlyRotated(byte[] tokenHash) {
+        return rotated.getIfPresent(ByteBuffer.wrap(tokenHash)) != null;
+    }
+
+    /**
+     * Remember a rotation once the current transaction commits (immediately
+     * outside a transaction), so a rolled-back rotation is never reported.
+     */
+    public void recordRotation(byte[] tokenHash, Instant rotatedAt) {
+        ByteBuffer key = ByteBuffer.wrap(tokenHash.clone());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rotated.put(key, rotatedAt);
+                }
+            });
+        } else {
+            rotated.put(key, rotatedAt);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.yash.fineshyttt.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * Subscriber registry and local delivery shared by bus implementations.
+ */
+@Slf4j
+abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    private record Subscription(LongConsumer onInvalidate, Runnable onResync) {}
+
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @Override
+    public void subscribe(String topic, LongConsumer onInvalidate, Runnable onResync) {
+        subscriptions.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>())
+                .add(new Subscription(onInvalidate, onResync));
+    }
+
+    /**
+     * Evict on this instance now and again once the current transaction
+     * completes.
+     */
+    protected void deliverLocally(String topic, long key) {
+        deliver(topic, key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    deliver(topic, key);
+                }
+            });
+        }
+    }
+
+    protected void deliver(String topic, long key) {
+        for (Subscription subscription : subscriptions.getOrDefault(topic, List.of())) {
+            try {
+                subscription.onInvalidate().accept(key);
+            } catch (RuntimeException ex) {
+                log.warn("Cache invalidation failed: topic={}, key={}", topic, key, ex);
+            }
+        }
+    }
+
+    protected void resyncAll() {
+        subscriptions.values().forEach(list -> list.forEach(subscription -> {
+            try {
+                subscription.onResync().run();
+            } catch (RuntimeException ex) {
+                log.warn("Cache resync failed", ex);
+            }
+        }));
+    }
+}
@@ -0,0 +1,47 @@
+package com.yash.fineshyttt.service.cache;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Cache Invalidation Bus
+ *
+ * Broadcasts cache evictions to every application instance, so per-JVM
+ * caches (CachedUserDetailsService, AccessTokenRevocationList) can use long TTLs
+ * without serving stale users on other nodes.
+ *
+ * Implementations (cache.invalidation.mode):
+ * - postgres: NOTIFY on publish, LISTEN on a dedicated connection
+ *   (PostgresCacheInvalidationBus)
+ * - local: this JVM only, for single-instance and H2 setups
+ *   (LocalCacheInvalidationBus)
+ *
+ * Delivery:
+ * - Local subscribers are evicted immediately and again after the current
+ *   transaction completes (a concurrent reader can't re-cache the
+ *   pre-commit row)
+ * - Remote instances receive the message only if the transaction commits
+ * - If messages may have been lost (listener reconnect), every subscriber's
+ *   resync callback is called, which should drop the whole cache
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Topic for user-scoped caches; key = user ID
+     */
+    String USER = "user";
+
+    /**
+     * Evict a key on every instance.
+     *
+     * @param topic Cache topic (e.g. USER)
+     * @param key Entity ID to evict
+     */
+    void publish(String topic, long key);
+
+    /**
+     * @param topic Cache topic
+     * @param onInvalidate Evicts one key
+     * @param onResync Evicts everything (messages may have been missed)
+     */
+    void subscribe(String topic, LongConsumer onInvalidate, Runnable onResync);
+}
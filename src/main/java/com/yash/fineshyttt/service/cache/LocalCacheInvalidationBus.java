@@ -0,0 +1,26 @@
+package com.yash.fineshyttt.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-JVM cache invalidation (cache.invalidation.mode=local, the default)
+ *
+ * For single-instance deployments and tests (H2 has no LISTEN/NOTIFY).
+ * With more than one instance, use mode=postgres.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "mode", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    public LocalCacheInvalidationBus() {
+        log.info("Cache invalidation bus: local (this instance only)");
+    }
+
+    @Override
+    public void publish(String topic, long key) {
+        deliverLocally(topic, key);
+    }
+}
@@ -0,0 +1,189 @@
+package com.yash.fineshyttt.service.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Cluster-wide cache invalidation over Postgres LISTEN/NOTIFY
+ * (cache.invalidation.mode=postgres)
+ *
+ * Publish:
+ * - SELECT pg_notify('cache_invalidation', 'user:42') on the caller's
+ *   connection, i.e. inside the caller's transaction. Postgres delivers
+ *   notifications only on commit, so rolled-back changes are never broadcast
+ *   and no outbox table is needed
+ * - This instance is evicted directly as well (no round trip)
+ *
+ * Listen:
+ * - One dedicated connection per instance, opened with DriverManager so it
+ *   never occupies a Hikari pool slot
+ * - A daemon thread polls PGConnection.getNotifications(timeout)
+ * - On connection loss: resync (drop all subscribed caches), back off,
+ *   reconnect, LISTEN again and resync once more, since notifications sent
+ *   while disconnected are lost
+ *
+ * Payloads are "<topic>:<key>", well under the 8000-byte NOTIFY limit.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "mode", havingValue = "postgres")
+@Slf4j
+public class PostgresCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    static final String CHANNEL = "cache_invalidation";
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollMillis;
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    @Autowired
+    public PostgresCacheInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            @Value("${cache.invalidation.poll-interval:PT5S}") Duration pollInterval
+    ) {
+        this(
+                jdbcTemplate,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                pollInterval
+        );
+    }
+
+    PostgresCacheInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            String url,
+            String username,
+            String password,
+            Duration pollInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollMillis = (int) pollInterval.toMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        log.info("Cache invalidation bus: postgres (channel={})", CHANNEL);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(String topic, long key) {
+        deliverLocally(topic, key);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, CHANNEL, topic + ":" + key);
+    }
+
+    private void listen() {
+        long backoffMillis = 500;
+        boolean reconnecting = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected, resyncing caches");
+                    resyncAll();
+                }
+                reconnecting = false;
+                backoffMillis = 500;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation listener lost connection: {}", ex.getMessage());
+                resyncAll();
+                reconnecting = true;
+                sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload);
+            return;
+        }
+
+        try {
+            deliver(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Shutting down
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.yash.fineshyttt.service.cart;
+
+import com.yash.fineshyttt.config.CartPurgeProperties;
+import com.yash.fineshyttt.repository.CartItemRepository;
+import com.yash.fineshyttt.repository.CartRepository;
+import com.yash.fineshyttt.repository.CartRepository.PurgeCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Abandoned Cart Purge Job
+ *
+ * Deletes expired guest carts and long-idle user carts so carts/cart_items
+ * (and their indexes) stop growing without bound.
+ *
+ * Purge Rules:
+ * - Guest cart: expires_at in the past, or no expires_at and idle past guest-idle
+ * - User cart: updated_at older than user-idle
+ *
+ * Batching:
+ * - Each rule has its own candidate scan, keyset-ordered on the column its
+ *   partial index leads with ((expires_at, id) or (updated_at, id)), so a
+ *   batch reads only candidates instead of walking the primary key
+ * - Each batch is deleted in its own short transaction (items first, then carts)
+ * - The purge predicate is re-checked in the DELETE, so carts touched
+ *   after the scan survive
+ * - Runs sleep for the configured throttle between batches and stop
+ *   after maxBatchesPerRun (shared by the scans); the next run picks up
+ *   the remainder
+ *
+ * Metrics:
+ * - cart.purge.deleted{type=carts|items}: rows deleted (counter)
+ * - cart.purge.run.rows: rows deleted per run (distribution summary)
+ * - cart.purge.duration: run duration (timer)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "cart.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CartPurgeJob {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final CartPurgeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter cartsDeleted;
+    private final Counter itemsDeleted;
+    private final DistributionSummary rowsPerRun;
+    private final Timer runTimer;
+
+    public CartPurgeJob(
+            CartRepository cartRepository,
+            CartItemRepository cartItemRepository,
+            CartPurgeProperties properties,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+
+        this.cartsDeleted = Counter.builder("cart.purge.deleted")
+                .tag("type", "carts")
+                .description("Abandoned carts deleted")
+                .register(meterRegistry);
+        this.itemsDeleted = Counter.builder("cart.purge.deleted")
+                .tag("type", "items")
+                .description("Cart items deleted with abandoned carts")
+                .register(meterRegistry);
+        this.rowsPerRun = DistributionSummary.builder("cart.purge.run.rows")
+                .description("Rows (carts + items) deleted per purge run")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("cart.purge.duration")
+                .description("Abandoned cart purge run duration")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${cart.purge.interval:PT1H}",
+            initialDelayString = "${cart.purge.initial-delay:PT5M}"
+    )
+    public void purge() {
+        runTimer.record(this::purgeOnce);
+    }
+
+    /**
+     * Run one bounded purge pass.
+     *
+     * @return Total rows (carts + items) deleted
+     */
+    public long purgeOnce() {
+        Instant now = Instant.now();
+        Instant guestIdleBefore = now.minus(properties.getGuestIdle());
+        Instant userIdleBefore = now.minus(properties.getUserIdle());
+        Run run = new Run(now, guestIdleBefore, userIdleBefore);
+
+        boolean completed = purgeScan(run, (afterCursor, afterId, batch) ->
+                cartRepository.findExpiredGuestCarts(now, afterCursor, afterId, batch));
+        if (completed) {
+            completed = purgeScan(run, (afterCursor, afterId, batch) ->
+                    cartRepository.findIdleGuestCarts(guestIdleBefore, afterCursor, afterId, batch));
+        }
+        if (completed) {
+            purgeScan(run, (afterCursor, afterId, batch) ->
+                    cartRepository.findIdleUserCarts(userIdleBefore, afterCursor, afterId, batch));
+        }
+
+        long totalRows = run.carts + run.items;
+        rowsPerRun.record(totalRows);
+
+        if (totalRows > 0) {
+            log.info("Cart purge deleted carts={}, items={}", run.carts, run.items);
+        }
+
+        return totalRows;
+    }
+
+    /**
+     * Delete one rule's candidates batch by batch.
+     *
+     * @return false if the run must stop (batch budget spent or interrupted)
+     */
+    private boolean purgeScan(Run run, CandidateScan scan) {
+        PageRequest batch = PageRequest.of(0, properties.getBatchSize());
+        Instant afterCursor = Instant.EPOCH;
+        long afterId = 0L;
+
+        while (run.batches < properties.getMaxBatchesPerRun()) {
+            List<PurgeCandidate> candidates = scan.next(afterCursor, afterId, batch);
+
+            if (candidates.isEmpty()) {
+                return true;
+            }
+
+            run.batches++;
+            List<Long> ids = candidates.stream().map(PurgeCandidate::getId).toList();
+            int[] deleted = transactionTemplate.execute(status -> new int[]{
+                    cartItemRepository.deleteAllOfPurgeableCarts(ids, run.now, run.guestIdleBefore, run.userIdleBefore),
+                    cartRepository.deletePurgeable(ids, run.now, run.guestIdleBefore, run.userIdleBefore)
+            });
+
+            run.items += deleted[0];
+            run.carts += deleted[1];
+            itemsDeleted.increment(deleted[0]);
+            cartsDeleted.increment(deleted[1]);
+
+            PurgeCandidate last = candidates.get(candidates.size() - 1);
+            afterCursor = last.getCursor();
+            afterId = last.getId();
+
+            if (candidates.size() < properties.getBatchSize()) {
+                return true;
+            }
+            if (!throttle()) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface CandidateScan {
+        List<PurgeCandidate> next(Instant afterCursor, long afterId, PageRequest batch);
+    }
+
+    /**
+     * Cutoffs and running totals of one purge pass
+     */
+    private static final class Run {
+        private final Instant now;
+        private final Instant guestIdleBefore;
+        private final Instant userIdleBefore;
+        private int batches;
+        private long carts;
+        private long items;
+
+        private Run(Instant now, Instant guestIdleBefore, Instant userIdleBefore) {
+            this.now = now;
+            this.guestIdleBefore = guestIdleBefore;
+            this.userIdleBefore = userIdleBefore;
+        }
+    }
+
+    private boolean throttle() {
+        long pauseMillis = properties.getThrottle().toMillis();
+        if (pauseMillis <= 0) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Cart purge interrupted, remaining carts deferred to next run");
+            return false;
+        }
+    }
+}
@@ -3,164 +3,212 @@ package com.yash.fineshyttt.service.cart;
 import com.yash.fineshyttt.domain.*;
 import com.yash.fineshyttt.exception.ResourceNotFoundException;
 import com.yash.fineshyttt.repository.*;
+import com.yash.fineshyttt.service.product.VariantLookupCache;
+import com.yash.fineshyttt.service.product.VariantSnapshot;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "cart.operations", histogram = true)
 public class CartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductVariantRepository variantRepository;
-    private final InventoryRepository inventoryRepository;
+    private final VariantLookupCache variantLookupCache;
+    private final UserRepository userRepository;
 
     /**
-     * Get or create cart for user
+     * Get the user's cart for display
+     *
+     * Read-only: lines are shown at the prices they were quoted at, with the
+     * priceVersion of that quote. They are re-quoted on mutations and at
+     * checkout, which rejects a stale quote (CartPriceChangedException).
+     * No cart row is created here either; the first added item creates it.
+     *
+     * Not a read-only transaction: with read/write routing that would go to
+     * a replica, which may not have the customer's last change yet.
+     *
+     * Cart operations take the user ID only (from the principal), so
+     * claims-backed principals never need the User entity loaded.
      */
-    public Cart getOrCreateCart(User user) {
-        return cartRepository.findByUser_Id(user.getId())
-                .orElseGet(() -> {
-                    Cart newCart = Cart.builder()
-                            .user(user)
-                            .build();
-                    return cartRepository.save(newCart);
-                });
+    public Optional<Cart> findCart(Long userId) {
+        return cartRepository.findViewByUserId(userId);
     }
 
     /**
      * Add item to cart or update quantity if exists
+     *
+     * Touches only the affected line (looked up by cart + variant);
+     * the full cart graph is loaded once, read-only, for the response:
+     * the API returns the whole cart, whose re-quoted lines and
+     * priceVersion clients show and send back at checkout.
      */
-    public Cart addItem(User user, Long variantId, int quantity) {
-        // Validate variant exists and has stock
-        ProductVariant variant = variantRepository.findById(variantId)
+    public Cart addItem(Long userId, Long variantId, int quantity) {
+        // Validate variant exists and has stock (cached, no DB hit)
+        VariantSnapshot variant = variantLookupCache.get(variantId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Product variant not found")
                 );
 
-        Inventory inventory = inventoryRepository.findByVariant_Id(variantId)
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Inventory not found")
-                );
+        if (!variant.active()) {
+            throw new IllegalArgumentException("Product variant is not available");
+        }
 
-        if (inventory.getQuantity() < quantity) {
+        if (variant.availableStock() < quantity) {
             throw new IllegalArgumentException(
-                    "Only " + inventory.getQuantity() + " items available"
+                    "Only " + variant.availableStock() + " items available"
             );
         }
 
-        Cart cart = getOrCreateCart(user);
+        Long cartId = getOrCreateCartId(userId);
 
         // Check if item already in cart
-        CartItem existingItem = cart.getItems()
-                .stream()
-                .filter(item -> item.getVariant().getId().equals(variantId))
-                .findFirst()
+        CartItem existingItem = cartItemRepository
+                .findByCart_IdAndVariant_Id(cartId, variantId)
                 .orElse(null);
 
         if (existingItem != null) {
             // Update quantity
             int newQuantity = existingItem.getQuantity() + quantity;
 
-            if (inventory.getQuantity() < newQuantity) {
+            if (variant.availableStock() < newQuantity) {
                 throw new IllegalArgumentException(
                         "Cannot add more items. Only " +
-                                inventory.getQuantity() + " available"
+                                variant.availableStock() + " available"
                 );
             }
 
             existingItem.setQuantity(newQuantity);
         } else {
-            // Add new item
+            // Add new item, quoted at the cached price
             CartItem newItem = CartItem.builder()
-                    .cart(cart)
-                    .variant(variant)
+                    .cart(cartRepository.getReferenceById(cartId))
+                    .variant(variantRepository.getReferenceById(variantId))
                     .quantity(quantity)
+                    .unitPrice(variant.price())
                     .build();
 
-            cart.getItems().add(newItem);
             cartItemRepository.save(newItem);
         }
 
-        return cartRepository.save(cart);
+        return touchAndLoad(userId, cartId);
     }
 
     /**
      * Update item quantity
      */
-    public Cart updateItemQuantity(User user, Long itemId, int quantity) {
-        Cart cart = getOrCreateCart(user);
+    public Cart updateItemQuantity(Long userId, Long itemId, int quantity) {
+        Long cartId = getOrCreateCartId(userId);
 
-        CartItem item = cart.getItems()
-                .stream()
-                .filter(i -> i.getId().equals(itemId))
-                .findFirst()
+        CartItem item = cartItemRepository.findByIdAndCart_Id(itemId, cartId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Cart item not found")
                 );
 
-        // Validate stock
-        Inventory inventory = inventoryRepository
-                .findByVariant_Id(item.getVariant().getId())
+        // Validate stock (cached, no DB hit; variant ID read from the FK)
+        VariantSnapshot variant = variantLookupCache.get(item.getVariant().getId())
                 .orElseThrow(() ->
-                        new ResourceNotFoundException("Inventory not found")
+                        new ResourceNotFoundException("Product variant not found")
                 );
 
-        if (inventory.getQuantity() < quantity) {
+        if (variant.availableStock() < quantity) {
             throw new IllegalArgumentException(
-                    "Only " + inventory.getQuantity() + " items available"
+                    "Only " + variant.availableStock() + " items available"
             );
         }
 
         item.setQuantity(quantity);
-        return cartRepository.save(cart);
+        return touchAndLoad(userId, cartId);
     }
 
     /**
      * Remove item from cart
      */
-    public Cart removeItem(User user, Long itemId) {
-        Cart cart = getOrCreateCart(user);
-
-        CartItem item = cart.getItems()
-                .stream()
-                .filter(i -> i.getId().equals(itemId))
-                .findFirst()
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Cart item not found")
-                );
+    public Cart removeItem(Long userId, Long itemId) {
+        Long cartId = getOrCreateCartId(userId);
 
-        cart.getItems().remove(item);
-        cartItemRepository.delete(item);
+        if (cartItemRepository.deleteByIdAndCartId(itemId, cartId) == 0) {
+            throw new ResourceNotFoundException("Cart item not found");
+        }
 
-        return cartRepository.save(cart);
+        return touchAndLoad(userId, cartId);
     }
 
     /**
      * Clear entire cart
      */
-    public void clearCart(User user) {
-        Cart cart = getOrCreateCart(user);
-        cartItemRepository.deleteAll(cart.getItems());
-        cart.getItems().clear();
-        cartRepository.save(cart);
+    public void clearCart(Long userId) {
+        cartRepository.findIdByUserId(userId)
+                .ifPresent(cartId -> {
+                    cartItemRepository.deleteAllByCart_Id(cartId);
+                    cartRepository.touch(cartId, Instant.now());
+                });
     }
 
     /**
      * Get cart total
      */
     @Transactional(readOnly = true)
-    public BigDecimal getCartTotal(User user) {
-        Cart cart = getOrCreateCart(user);
-
-        return cart.getItems()
-                .stream()
-                .map(item -> item.getPrice()
-                        .multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getCartTotal(Long userId) {
+        return cartRepository.findByUser_Id(userId)
+                .map(cart -> cart.getItems()
+                        .stream()
+                        .map(item -> item.getPrice()
+                                .multiply(BigDecimal.valueOf(item.getQuantity())))
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .orElse(BigDecimal.ZERO);
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private Cart createCart(Long userId) {
+        // Reference only: the FK needs the id, not a users row load
+        Cart newCart = Cart.builder()
+                .user(userRepository.getReferenceById(userId))
+                .build();
+        return cartRepository.save(newCart);
+    }
+
+    private Long getOrCreateCartId(Long userId) {
+        return cartRepository.findIdByUserId(userId)
+                .orElseGet(() -> createCart(userId).getId());
+    }
+
+    /**
+     * Bump updated_at (item changes don't dirty the cart row) and load the
+     * cart view for the response.
+     */
+    private Cart touchAndLoad(Long userId, Long cartId) {
+        cartRepository.touch(cartId, Instant.now());
+        return requoteAndLoad(userId, cartId);
+    }
+
+    /**
+     * Re-quote changed lines in bulk (bumping priceVersion if any changed),
+     * then load the read-only cart view.
+     *
+     * The re-quote flushes and clears the persistence context, so the view
+     * is always read fresh, including lines added in this transaction.
+     */
+    private Cart requoteAndLoad(Long userId, Long cartId) {
+        if (cartItemRepository.requoteChangedPrices(cartId) > 0) {
+            cartRepository.bumpPriceVersion(cartId);
+        }
+
+        return cartRepository.findViewByUserId(userId)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Cart not found")
+                );
     }
 }
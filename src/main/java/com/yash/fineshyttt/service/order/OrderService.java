@@ -1,8 +1,15 @@
 package com.yash.fineshyttt.service.order;
 
 import com.yash.fineshyttt.domain.*;
+import com.yash.fineshyttt.dto.cart.RepricedLine;
+import com.yash.fineshyttt.exception.CartPriceChangedException;
 import com.yash.fineshyttt.exception.ResourceNotFoundException;
 import com.yash.fineshyttt.repository.*;
+import com.yash.fineshyttt.util.collections.LongIntMap;
+import com.yash.fineshyttt.util.collections.LongObjectMap;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,11 +17,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "orders.operations", histogram = true)
 public class OrderService {
 
     private final OrderRepository orderRepository;
@@ -23,18 +33,41 @@ public class OrderService {
     private final CouponRepository couponRepository;
     private final InventoryRepository inventoryRepository;
     private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Create order from user's cart
+     *
+     * Lines carry the price they were quoted at (CartItem.unitPrice). Current
+     * prices, active flags and stock come from one inventory query with the
+     * variants join-fetched, so no line triggers its own variant load.
+     *
+     * If any quoted price is stale, those lines are re-quoted, the cart's
+     * priceVersion is bumped and checkout fails with CartPriceChangedException.
+     * The re-quote is committed (noRollbackFor); nothing has been reserved yet.
+     *
+     * Metrics (besides the orders.checkout timer):
+     * - orders.checkout.repriced: checkouts stopped by a price change
+     * - orders.reservation.failures{reason}: lines that could not be reserved
+     * - orders.coupon.rejections{reason}: coupons refused
+     * - orders.checkout.lines: cart lines per placed order (distribution summary)
+     * - orders.checkout.amount: amount payable per placed order, after discount
+     *   (distribution summary; histogram via management.metrics.distribution)
+     *
+     * @param expectedPriceVersion priceVersion the customer reviewed, or null to skip the check
      */
+    @Transactional(noRollbackFor = CartPriceChangedException.class)
+    @Timed(value = "orders.checkout", histogram = true)
     public Order checkout(
             User user,
             Long shippingAddressId,
             Long billingAddressId,
-            String couponCode
+            String couponCode,
+            Long expectedPriceVersion
     ) {
-        // 1. Get user's cart
-        Cart cart = cartRepository.findByUser_Id(user.getId())
+        // 1. Get user's cart (lines only)
+        Cart cart = cartRepository.findWithItemsByUserId(user.getId())
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Cart not found")
                 );
@@ -56,47 +89,87 @@ public class OrderService {
                         new ResourceNotFoundException("Billing address not found")
                 );
 
-        // 3. Validate stock and reserve inventory
+        // 3. One query for every line's inventory row and variant
+        LongObjectMap<Inventory> inventoryByVariant = loadInventoryByVariant(
+                cart.getItems().stream().map(item -> item.getVariant().getId()).toList()
+        );
+
+        // 4. Validate availability and quoted prices
+        List<RepricedLine> repriced = new ArrayList<>();
+
         for (var cartItem : cart.getItems()) {
-            Inventory inventory = inventoryRepository
-                    .findByVariant_Id(cartItem.getVariant().getId())
-                    .orElseThrow(() ->
-                            new ResourceNotFoundException("Inventory not found")
-                    );
+            Inventory inventory = inventoryByVariant.get(cartItem.getVariant().getId());
+            if (inventory == null) {
+                throw new ResourceNotFoundException("Inventory not found");
+            }
+
+            ProductVariant variant = inventory.getVariant();
+
+            if (!variant.isActive()) {
+                meterRegistry.counter("orders.reservation.failures", "reason", "variant_inactive").increment();
+                throw new IllegalArgumentException(
+                        "Product variant is no longer available: " + variant.getSku()
+                );
+            }
+
+            BigDecimal quotedPrice = cartItem.getPrice();
+            if (cartItem.requote(variant.getPrice())) {
+                repriced.add(new RepricedLine(
+                        cartItem.getId(),
+                        variant.getSku(),
+                        quotedPrice,
+                        variant.getPrice()
+                ));
+            }
+        }
+
+        if (!repriced.isEmpty()) {
+            meterRegistry.counter("orders.checkout.repriced").increment();
+            cart.bumpPriceVersion();
+            throw new CartPriceChangedException(cart.getPriceVersion(), repriced);
+        }
+
+        if (expectedPriceVersion != null && expectedPriceVersion != cart.getPriceVersion()) {
+            throw new CartPriceChangedException(cart.getPriceVersion(), List.of());
+        }
+
+        // 5. Validate stock and reserve inventory
+        for (var cartItem : cart.getItems()) {
+            Inventory inventory = inventoryByVariant.get(cartItem.getVariant().getId());
 
             int availableStock = inventory.getQuantity() - inventory.getReservedQuantity();
 
             if (availableStock < cartItem.getQuantity()) {
+                meterRegistry.counter("orders.reservation.failures", "reason", "insufficient_stock").increment();
                 throw new IllegalArgumentException(
                         "Insufficient stock for " +
-                                cartItem.getVariant().getProduct().getName()
+                                inventory.getVariant().getProduct().getName()
                 );
             }
 
-            // Reserve inventory
+            // Reserve inventory (flushed by dirty checking)
             inventory.setReservedQuantity(
                     inventory.getReservedQuantity() + cartItem.getQuantity()
             );
-            inventoryRepository.save(inventory);
         }
 
-        // 4. Calculate total
+        // 6. Calculate total (quoted prices, verified current above)
         BigDecimal totalAmount = cart.getItems()
                 .stream()
                 .map(item -> item.getPrice()
                         .multiply(BigDecimal.valueOf(item.getQuantity())))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        // 5. Apply coupon if provided
+        // 7. Apply coupon if provided
         BigDecimal discountAmount = BigDecimal.ZERO;
         Coupon coupon = null;
 
         if (couponCode != null && !couponCode.isBlank()) {
             coupon = validateAndApplyCoupon(couponCode, totalAmount);
-            discountAmount = calculateDiscount(coupon, totalAmount);
+            discountAmount = coupon.discountFor(totalAmount);
         }
 
-        // 6. Create order
+        // 8. Create order
         Order order = Order.builder()
                 .user(user)
                 .status(OrderStatus.CREATED)
@@ -107,7 +180,7 @@ public class OrderService {
                 .coupon(coupon)
                 .build();
 
-        // 7. Create order items
+        // 9. Create order items
         for (var cartItem : cart.getItems()) {
             OrderItem orderItem = OrderItem.builder()
                     .order(order)
@@ -121,11 +194,24 @@ public class OrderService {
 
         Order savedOrder = orderRepository.save(order);
 
-        // 8. Record status history
+        DistributionSummary.builder("orders.checkout.lines")
+                .description("Cart lines per placed order")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100.0)
+                .register(meterRegistry)
+                .record(order.getItems().size());
+        DistributionSummary.builder("orders.checkout.amount")
+                .description("Amount payable per placed order, after discount")
+                .register(meterRegistry)
+                .record(totalAmount.subtract(discountAmount).doubleValue());
+
+        // 10. Record status history
         recordStatusChange(savedOrder, null, OrderStatus.CREATED, user);
 
-        // 9. Clear cart
-        cart.getItems().clear();
+        // 11. Clear cart
+        cart.clearItems();
+        cart.touch();
         cartRepository.save(cart);
 
         return savedOrder;
@@ -135,8 +221,8 @@ public class OrderService {
      * Get order by ID (user must own the order)
      */
     @Transactional(readOnly = true)
-    public Order getOrder(Long orderId, User user) {
-        return orderRepository.findByIdAndUser_Id(orderId, user.getId())
+    public Order getOrder(Long orderId, Long userId) {
+        return orderRepository.findByIdAndUser_Id(orderId, userId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Order not found")
                 );
@@ -146,9 +232,9 @@ public class OrderService {
      * Get all orders for user
      */
     @Transactional(readOnly = true)
-    public Page<Order> getUserOrders(User user, Pageable pageable) {
+    public Page<Order> getUserOrders(Long userId, Pageable pageable) {
         return orderRepository.findByUser_IdOrderByCreatedAtDesc(
-                user.getId(),
+                userId,
                 pageable
         );
     }
@@ -189,9 +275,12 @@ public class OrderService {
 
     /**
      * Cancel order
+     *
+     * The status history only needs the user's FK, so a reference is used
+     * instead of loading the User.
      */
-    public Order cancelOrder(Long orderId, User user) {
-        Order order = getOrder(orderId, user);
+    public Order cancelOrder(Long orderId, Long userId) {
+        Order order = getOrder(orderId, userId);
 
         if (!order.getStatus().isCancellable()) {
             throw new IllegalArgumentException(
@@ -202,7 +291,7 @@ public class OrderService {
         return updateOrderStatus(
                 orderId,
                 OrderStatus.CANCELLED,
-                user,
+                userRepository.getReferenceById(userId),
                 "Cancelled by user"
         );
     }
@@ -213,28 +302,28 @@ public class OrderService {
 
     private Coupon validateAndApplyCoupon(String code, BigDecimal totalAmount) {
         Coupon coupon = couponRepository.findByCode(code)
-                .orElseThrow(() ->
+                .orElseThrow(() -> couponRejected("not_found",
                         new ResourceNotFoundException("Coupon not found")
-                );
+                ));
 
         if (!coupon.getIsActive()) {
-            throw new IllegalArgumentException("Coupon is not active");
+            throw couponRejected("inactive", new IllegalArgumentException("Coupon is not active"));
         }
 
         if (coupon.getValidUntil().isBefore(java.time.Instant.now())) {
-            throw new IllegalArgumentException("Coupon has expired");
+            throw couponRejected("expired", new IllegalArgumentException("Coupon has expired"));
         }
 
         if (coupon.getMinOrderAmount() != null &&
                 totalAmount.compareTo(coupon.getMinOrderAmount()) < 0) {
-            throw new IllegalArgumentException(
+            throw couponRejected("min_order_amount", new IllegalArgumentException(
                     "Minimum order amount not met: " + coupon.getMinOrderAmount()
-            );
+            ));
         }
 
         if (coupon.getUsageLimit() != null &&
                 coupon.getTimesUsed() >= coupon.getUsageLimit()) {
-            throw new IllegalArgumentException("Coupon usage limit reached");
+            throw couponRejected("usage_limit", new IllegalArgumentException("Coupon usage limit reached"));
         }
 
         // Increment usage
@@ -244,24 +333,9 @@ public class OrderService {
         return coupon;
     }
 
-    private BigDecimal calculateDiscount(Coupon coupon, BigDecimal totalAmount) {
-        BigDecimal discount;
-
-        if (coupon.getDiscountType() == DiscountType.PERCENTAGE) {
-            discount = totalAmount
-                    .multiply(coupon.getDiscountValue())
-                    .divide(BigDecimal.valueOf(100));
-        } else {
-            discount = coupon.getDiscountValue();
-        }
-
-        // Apply max discount limit
-        if (coupon.getMaxDiscount() != null &&
-                discount.compareTo(coupon.getMaxDiscount()) > 0) {
-            discount = coupon.getMaxDiscount();
-        }
-
-        return discount;
+    private RuntimeException couponRejected(String reason, RuntimeException ex) {
+        meterRegistry.counter("orders.coupon.rejections", "reason", reason).increment();
+        return ex;
     }
 
     private void recordStatusChange(
@@ -310,31 +384,47 @@ public class OrderService {
             OrderStatus oldStatus,
             OrderStatus newStatus
     ) {
-        if (newStatus == OrderStatus.CANCELLED || newStatus == OrderStatus.REFUNDED) {
-            // Release reserved inventory
-            for (var item : order.getItems()) {
-                Inventory inventory = inventoryRepository
-                        .findByVariant_Id(item.getVariant().getId())
-                        .orElseThrow();
-
-                inventory.setReservedQuantity(
-                        Math.max(0, inventory.getReservedQuantity() - item.getQuantity())
-                );
-                inventoryRepository.save(inventory);
+        if (newStatus != OrderStatus.CANCELLED &&
+                newStatus != OrderStatus.REFUNDED &&
+                newStatus != OrderStatus.PAID) {
+            return;
+        }
+
+        // Tally quantities per variant, then load all inventory rows at once
+        LongIntMap quantityByVariant = new LongIntMap(order.getItems().size());
+        for (var item : order.getItems()) {
+            quantityByVariant.addTo(item.getVariant().getId(), item.getQuantity());
+        }
+
+        List<Long> variantIds = new ArrayList<>(quantityByVariant.size());
+        quantityByVariant.forEach((variantId, quantity) -> variantIds.add(variantId));
+        LongObjectMap<Inventory> inventoryByVariant = loadInventoryByVariant(variantIds);
+
+        quantityByVariant.forEach((variantId, quantity) -> {
+            Inventory inventory = inventoryByVariant.get(variantId);
+            if (inventory == null) {
+                throw new ResourceNotFoundException("Inventory not found");
             }
-        } else if (newStatus == OrderStatus.PAID) {
-            // Deduct from actual inventory
-            for (var item : order.getItems()) {
-                Inventory inventory = inventoryRepository
-                        .findByVariant_Id(item.getVariant().getId())
-                        .orElseThrow();
-
-                inventory.setQuantity(inventory.getQuantity() - item.getQuantity());
-                inventory.setReservedQuantity(
-                        Math.max(0, inventory.getReservedQuantity() - item.getQuantity())
-                );
-                inventoryRepository.save(inventory);
+
+            if (newStatus == OrderStatus.PAID) {
+                // Deduct from actual inventory
+                inventory.setQuantity(inventory.getQuantity() - quantity);
             }
+
+            // Release reserved inventory (both cases)
+            inventory.setReservedQuantity(
+                    Math.max(0, inventory.getReservedQuantity() - quantity)
+            );
+        });
+    }
+
+    private LongObjectMap<Inventory> loadInventoryByVariant(Collection<Long> variantIds) {
+        List<Inventory> rows = inventoryRepository.findAllByVariantIdIn(variantIds);
+
+        LongObjectMap<Inventory> byVariant = new LongObjectMap<>(rows.size());
+        for (Inventory inventory : rows) {
+            byVariant.put(inventory.getVariant().getId(), inventory);
         }
+        return byVariant;
     }
 }
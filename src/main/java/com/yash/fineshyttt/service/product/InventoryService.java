@@ -5,6 +5,7 @@ import com.yash.fineshyttt.domain.ProductVariant;
 import com.yash.fineshyttt.exception.ResourceNotFoundException;
 import com.yash.fineshyttt.repository.InventoryRepository;
 import com.yash.fineshyttt.repository.ProductVariantRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "catalog.inventory", histogram = true)
 public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
@@ -5,6 +5,7 @@ import com.yash.fineshyttt.domain.Product;
 import com.yash.fineshyttt.exception.ResourceNotFoundException;
 import com.yash.fineshyttt.repository.CategoryRepository;
 import com.yash.fineshyttt.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "catalog.commands", histogram = true)
 public class ProductCommandService {
 
     private final ProductRepository productRepository;
@@ -3,7 +3,9 @@ package com.yash.fineshyttt.service.product;
 import com.yash.fineshyttt.domain.Product;
 import com.yash.fineshyttt.exception.ResourceNotFoundException;
 import com.yash.fineshyttt.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -12,22 +14,33 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "catalog.queries", histogram = true)
 public class ProductQueryService {
 
     private final ProductRepository productRepository;
 
     public Page<Product> getActiveProducts(Pageable pageable) {
-        return productRepository.findAllByIsActiveTrue(pageable);
+        return withImages(productRepository.findAllByIsActiveTrue(pageable));
     }
 
     public Page<Product> getActiveProductsByCategory(
             Long categoryId,
             Pageable pageable
     ) {
-        return productRepository.findAllByCategory_IdAndIsActiveTrue(
+        return withImages(productRepository.findAllByCategory_IdAndIsActiveTrue(
                 categoryId,
                 pageable
-        );
+        ));
+    }
+
+    /**
+     * Load the page's images before the transaction ends: ProductResponse
+     * reads them after it (open-in-view is off). Images can't be fetch-joined
+     * into a paged query; @BatchSize loads them for the whole page at once.
+     */
+    private Page<Product> withImages(Page<Product> page) {
+        page.forEach(product -> Hibernate.initialize(product.getImages()));
+        return page;
     }
 
     public Product getBySlug(String slug) {
@@ -0,0 +1,441 @@
+package com.yash.fineshyttt.service.product;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yash.fineshyttt.repository.ProductVariantRepository;
+import com.yash.fineshyttt.util.collections.LongObjectMap;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Variant Lookup Cache
+ *
+ * Holds price, active flag, SKU and approximate available stock per variant ID
+ * so cart validation (add/update item) doesn't touch the database.
+ *
+ * Problem:
+ * - CartService.addItem/updateItemQuantity loaded ProductVariant and Inventory
+ *   on every call (2 queries per cart mutation)
+ *
+ * Solution:
+ * - One projection query per miss (variant LEFT JOIN inventory)
+ * - Entries invalidated after commit of any ProductVariant/Inventory write
+ *   (see VariantLookupInvalidationListener)
+ * - 10 minute TTL as a safety net for writes that bypass JPA callbacks
+ *
+ * Storage:
+ * - 16 segments, each a LongObjectMap guarded by its own StampedLock
+ *   (no Long boxing, no per-entry nodes, reads only contend within a segment)
+ * - At most MAX_SIZE entries (MAX_SIZE / 16 per segment). A full segment
+ *   evicts with CLOCK (second chance): entries sit in a fixed ring, a hit
+ *   sets the entry's referenced bit, and the segment's hand clears set bits
+ *   until it reaches an expired or unreferenced entry, which it replaces.
+ *   Amortized O(1) per insert, no allocation, and recently read variants
+ *   survive a burst of one-off lookups
+ * - Expired entries are skipped on read and removed by a sweep every minute
+ * - Each segment carries a version bumped on invalidation; a load that
+ *   raced an invalidation is returned but not cached
+ *
+ * Consistency:
+ * - Stock is approximate: good enough to reject obviously impossible cart
+ *   quantities, never used for the reservation itself
+ * - Checkout still reads inventory rows before reserving (authoritative)
+ *
+ * Metrics (MeterBinder): same cache.* meters CaffeineCacheMetrics registers,
+ * tagged cache=variant_lookup
+ */
+@Component
+@Slf4j
+public class VariantLookupCache implements MeterBinder {
+
+    static final int MAX_SIZE = 100_000;
+    private static final int SEGMENT_BITS = 4;
+    private static final long TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ProductVariantRepository variantRepository;
+    private final int segmentCapacity;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public VariantLookupCache(ProductVariantRepository variantRepository) {
+        this(variantRepository, MAX_SIZE, TTL_NANOS, System::nanoTime);
+    }
+
+    VariantLookupCache(ProductVariantRepository variantRepository, int maxSize, long ttlNanos, LongSupplier nanoClock) {
+        this.variantRepository = variantRepository;
+        this.segmentCapacity = Math.max(1, maxSize >> SEGMENT_BITS);
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+        this.segments = createSegments(segmentCapacity);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("cache", "variant_lookup");
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags(tags).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags(tags).tag("result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached (newly loaded) value")
+                .register(registry);
+        FunctionCounter.builder("cache.loads", loadFailures, LongAdder::sum)
+                .tags(tags).tag("result", "failure")
+                .description("The number of times cache lookup methods failed to load a value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags(tags)
+                .description("The number of times the cache was evicted")
+                .register(registry);
+        Gauge.builder("cache.size", this, VariantLookupCache::getCacheSize)
+                .tags(tags)
+                .description("The number of entries in this cache")
+                .register(registry);
+    }
+
+    /**
+     * Get Variant Snapshot (with caching)
+     *
+     * @param variantId Variant ID
+     * @return Snapshot, or empty if variant doesn't exist
+     */
+    public Optional<VariantSnapshot> get(Long variantId) {
+        long id = variantId;
+        Segment segment = segmentFor(id);
+
+        Entry entry;
+        long version;
+        long stamp = segment.lock.readLock();
+        try {
+            entry = segment.entries.get(id);
+            version = segment.version;
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+
+        if (entry != null && !isExpired(entry, nanoClock.getAsLong())) {
+            // Racy on purpose: a lost update only costs the entry its second chance
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hits.increment();
+            return Optional.of(entry.snapshot);
+        }
+
+        misses.increment();
+        VariantSnapshot loaded = load(id);
+
+        if (loaded != null) {
+            stamp = segment.lock.writeLock();
+            try {
+                if (segment.version == version) {
+                    put(segment, id, loaded, nanoClock.getAsLong());
+                }
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+
+        return Optional.ofNullable(loaded);
+    }
+
+    /**
+     * Invalidate Variant
+     *
+     * Inside a transaction, eviction is repeated after completion so a
+     * concurrent reader can't re-cache the pre-commit row.
+     *
+     * @param variantId Variant whose price, status or stock changed
+     */
+    public void invalidate(Long variantId) {
+        if (variantId == null) {
+            return;
+        }
+
+        long id = variantId;
+        evict(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            long stamp = segment.lock.writeLock();
+            try {
+                segment.clear();
+                segment.version++;
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+        log.warn("Entire variant lookup cache invalidated");
+    }
+
+    /**
+     * Get Cache Statistics
+     *
+     * Reported in Caffeine's CacheStats shape, matching CachedUserDetailsService.
+     */
+    public CacheStats getStats() {
+        return CacheStats.of(
+                hits.sum(),
+                misses.sum(),
+                loadSuccesses.sum(),
+                loadFailures.sum(),
+                totalLoadNanos.sum(),
+                evictions.sum(),
+                0L
+        );
+    }
+
+    /**
+     * Remove expired entries (reads skip them, this frees the memory).
+     *
+     * @return Entries removed
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public int purgeExpired() {
+        long now = nanoClock.getAsLong();
+        int removed = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.writeLock();
+            try {
+                removed += removeExpired(segment, now);
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+        if (removed > 0) {
+            log.debug("Purged {} expired variant lookups", removed);
+        }
+        return removed;
+    }
+
+    public long getCacheSize() {
+        long size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    // -------------------------
+    // Internals
+    // -------------------------
+
+    private void evict(long id) {
+        Segment segment = segmentFor(id);
+        long stamp = segment.lock.writeLock();
+        try {
+            Entry removed = segment.entries.remove(id);
+            if (removed != null) {
+                segment.release(removed.slot);
+            }
+            segment.version++;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.loadedAtNanos >= ttlNanos;
+    }
+
+    /**
+     * Insert or replace (write lock held). A reloaded entry keeps its slot;
+     * a new one takes a free slot, or the CLOCK victim's when the segment
+     * is full.
+     */
+    private void put(Segment segment, long id, VariantSnapshot snapshot, long now) {
+        Entry previous = segment.entries.get(id);
+        int slot;
+        if (previous != null) {
+            slot = previous.slot;
+        } else if (segment.freeCount > 0) {
+            slot = segment.free[--segment.freeCount];
+        } else if (segment.filled < segmentCapacity) {
+            slot = segment.filled++;
+        } else {
+            slot = evictWithClock(segment, now);
+        }
+
+        Entry entry = new Entry(id, snapshot, now, slot);
+        segment.ring[slot] = entry;
+        segment.entries.put(id, entry);
+    }
+
+    /**
+     * Advance the hand to the first expired or unreferenced entry, clearing
+     * referenced bits on the way, and evict it. Terminates within two turns:
+     * after one full turn every bit is clear.
+     *
+     * @return The freed slot
+     */
+    private int evictWithClock(Segment segment, long now) {
+        Entry[] ring = segment.ring;
+        for (;;) {
+            int slot = segment.hand;
+            segment.hand = slot + 1 == ring.length ? 0 : slot + 1;
+
+            Entry candidate = ring[slot];
+            if (candidate.referenced && !isExpired(candidate, now)) {
+                candidate.referenced = false;
+                continue;
+            }
+
+            segment.entries.remove(candidate.id);
+            ring[slot] = null;
+            evictions.increment();
+            return slot;
+        }
+    }
+
+    private int removeExpired(Segment segment, long now) {
+        Entry[] ring = segment.ring;
+        int removed = 0;
+        for (int slot = 0; slot < segment.filled; slot++) {
+            Entry entry = ring[slot];
+            if (entry != null && isExpired(entry, now)) {
+                segment.entries.remove(entry.id);
+                segment.release(slot);
+                removed++;
+            }
+        }
+        evictions.add(removed);
+        return removed;
+    }
+
+    private VariantSnapshot load(long variantId) {
+        log.debug("Variant cache MISS for variantId={}", variantId);
+
+        long start = System.nanoTime();
+        try {
+            VariantSnapshot snapshot = variantRepository.findLookupRow(variantId)
+                    .map(row -> new VariantSnapshot(
+                            row.getId(),
+                            row.getPrice(),
+                            Boolean.TRUE.equals(row.getActive()),
+                            row.getSku(),
+                            Math.max(0, row.getAvailableStock())
+                    ))
+                    .orElse(null);
+
+            if (snapshot != null) {
+                loadSuccesses.increment();
+            } else {
+                loadFailures.increment();
+            }
+            return snapshot;
+        } catch (RuntimeException ex) {
+            loadFailures.increment();
+            throw ex;
+        } finally {
+            totalLoadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private Segment segmentFor(long id) {
+        return segments[segmentIndex(id)];
+    }
+
+    static int segmentIndex(long id) {
+        // High bits pick the segment; the segment's table indexes by low bits
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> (64 - SEGMENT_BITS));
+    }
+
+    private static Segment[] createSegments(int capacity) {
+        Segment[] result = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new Segment(capacity);
+        }
+        return result;
+    }
+
+    /**
+     * Map for lookups plus the CLOCK ring. Slots below {@code filled} are
+     * either in use or on the free stack (freed by invalidation or expiry).
+     */
+    private static final class Segment {
+        final StampedLock lock = new StampedLock();
+        final LongObjectMap<Entry> entries = new LongObjectMap<>(256);
+        final Entry[] ring;
+        final int[] free;
+        int freeCount;
+        int filled;
+        int hand;
+        long version;
+
+        Segment(int capacity) {
+            this.ring = new Entry[capacity];
+            this.free = new int[capacity];
+        }
+
+        void release(int slot) {
+            ring[slot] = null;
+            free[freeCount++] = slot;
+        }
+
+        void clear() {
+            entries.clear();
+            Arrays.fill(ring, null);
+            freeCount = 0;
+            filled = 0;
+            hand = 0;
+        }
+    }
+
+    private static final class Entry {
+        final long id;
+        final VariantSnapshot snapshot;
+        final long loadedAtNanos;
+        final int slot;
+        // Set by readers (read lock), cleared by the hand (write lock)
+        boolean referenced;
+
+        Entry(long id, VariantSnapshot snapshot, long loadedAtNanos, int slot) {
+            this.id = id;
+            this.snapshot = snapshot;
+            this.loadedAtNanos = loadedAtNanos;
+            this.slot = slot;
+        }
+    }
+}
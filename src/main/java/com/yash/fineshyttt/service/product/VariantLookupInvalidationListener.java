@@ -0,0 +1,39 @@
+package com.yash.fineshyttt.service.product;
+
+import com.yash.fineshyttt.domain.Inventory;
+import com.yash.fineshyttt.domain.ProductVariant;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that evicts VariantLookupCache entries on
+ * ProductVariant and Inventory writes.
+ *
+ * Hibernate resolves listeners through Spring's bean container while the
+ * EntityManagerFactory is being built; the cache depends on a repository
+ * (and so on that factory), hence it is looked up lazily on first write.
+ *
+ * Note: bulk JPQL updates bypass entity callbacks and must call
+ * VariantLookupCache.invalidate() themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class VariantLookupInvalidationListener {
+
+    private final ObjectProvider<VariantLookupCache> variantLookupCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(Object entity) {
+        if (entity instanceof ProductVariant variant) {
+            variantLookupCache.getObject().invalidate(variant.getId());
+        } else if (entity instanceof Inventory inventory) {
+            variantLookupCache.getObject().invalidate(inventory.getVariant().getId());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.yash.fineshyttt.service.product;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable view of a variant used for cart validation.
+ * availableStock is approximate (quantity - reserved at load time);
+ * checkout re-reads inventory before reserving.
+ */
+public record VariantSnapshot(
+        long variantId,
+        BigDecimal price,
+        boolean active,
+        String sku,
+        int availableStock
+) {}
@@ -0,0 +1,47 @@
+package com.yash.fineshyttt.util.collections;
+
+/**
+ * Shared hashing/sizing helpers for the open-addressing long-keyed collections.
+ *
+ * - Capacity is always a power of two (index = hash & mask)
+ * - Keys are scrambled with the 64-bit golden ratio constant so sequential
+ *   database IDs spread across the table instead of clustering
+ * - Key 0 is reserved as the "empty slot" marker; each collection stores it
+ *   out of band
+ */
+final class LongHashing {
+
+    static final float LOAD_FACTOR = 0.5f;
+    static final int MIN_CAPACITY = 8;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private LongHashing() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+
+        long needed = (long) Math.ceil(expectedSize / LOAD_FACTOR);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static int resizeThreshold(int capacity) {
+        return (int) (capacity * LOAD_FACTOR);
+    }
+}
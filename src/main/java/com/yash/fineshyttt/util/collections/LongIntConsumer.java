@@ -0,0 +1,6 @@
+package com.yash.fineshyttt.util.collections;
+
+@FunctionalInterface
+public interface LongIntConsumer {
+    void accept(long key, int value);
+}
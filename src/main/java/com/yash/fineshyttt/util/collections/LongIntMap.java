@@ -0,0 +1,215 @@
+package com.yash.fineshyttt.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive int values.
+ *
+ * Used for per-variant quantity tallies (checkout, inventory release) without
+ * boxing either side. Same layout and probing as LongObjectMap.
+ *
+ * Not thread-safe.
+ */
+public final class LongIntMap {
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public LongIntMap() {
+        this(4);
+    }
+
+    public LongIntMap(int expectedSize) {
+        allocate(LongHashing.capacityFor(expectedSize));
+    }
+
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    public void put(long key, int value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+
+        int i = slotFor(key);
+        if (keys[i] == key) {
+            values[i] = value;
+            return;
+        }
+        insertAt(i, key, value);
+    }
+
+    /**
+     * Add delta to the current value (0 if absent).
+     *
+     * @return Value after the addition
+     */
+    public int addTo(long key, int delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+
+        int i = slotFor(key);
+        if (keys[i] == key) {
+            return values[i] += delta;
+        }
+        insertAt(i, key, delta);
+        return delta;
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+
+        int i = indexOf(key);
+        if (i < 0) {
+            return false;
+        }
+
+        shiftKeys(i);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public void forEach(LongIntConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0L, zeroValue);
+        }
+
+        final long[] k = keys;
+        final int[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != 0) {
+                action.accept(k[i], v[i]);
+            }
+        }
+    }
+
+    // -------------------------
+    // Internals
+    // -------------------------
+
+    /**
+     * @return Slot holding key, or the empty slot where it would be inserted
+     */
+    private int slotFor(long key) {
+        final long[] k = keys;
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = k[i]) != 0 && current != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private int indexOf(long key) {
+        int i = slotFor(key);
+        return keys[i] == key ? i : -1;
+    }
+
+    private void insertAt(int i, long key, int value) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void shiftKeys(int pos) {
+        final long[] k = keys;
+        final int[] v = values;
+        int last;
+        int slot;
+        long current;
+
+        for (;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((current = k[pos]) == 0) {
+                    k[last] = 0;
+                    v[last] = 0;
+                    return;
+                }
+                slot = LongHashing.mix(current) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            k[last] = current;
+            v[last] = v[pos];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = LongHashing.resizeThreshold(capacity);
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > LongHashing.MAX_CAPACITY) {
+            throw new IllegalStateException("LongIntMap capacity exceeded");
+        }
+
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != 0) {
+                int i = LongHashing.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.yash.fineshyttt.util.collections;
+
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+    void accept(long key, V value);
+}
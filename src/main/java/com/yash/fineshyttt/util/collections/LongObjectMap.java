@@ -0,0 +1,225 @@
+package com.yash.fineshyttt.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to objects.
+ *
+ * Replaces HashMap&lt;Long, V&gt; on hot ID lookups:
+ * - No Long boxing on get/put (IDs above 127 allocate with HashMap)
+ * - No per-entry Node objects, keys and values live in two flat arrays
+ * - Linear probing with backward-shift deletion (no tombstones)
+ *
+ * Not thread-safe. Callers that share an instance across threads must guard it.
+ * Null values are allowed; use containsKey() to tell them apart from absence.
+ *
+ * @param <V> Value type
+ */
+public final class LongObjectMap<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    // Key 0 marks empty slots, so its mapping is kept out of band
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectMap() {
+        this(4);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        allocate(LongHashing.capacityFor(expectedSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+
+        final long[] k = keys;
+        final int m = mask;
+        int i = LongHashing.mix(key) & m;
+        long current;
+        while ((current = k[i]) != 0) {
+            if (current == key) {
+                return (V) values[i];
+            }
+            i = (i + 1) & m;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @return Previous value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+
+        final long[] k = keys;
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = k[i]) != 0) {
+            if (current == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+
+        k[i] = key;
+        values[i] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @return Removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return previous;
+        }
+
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+
+        V previous = (V) values[i];
+        shiftKeys(i);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, null);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(0L, zeroValue);
+        }
+
+        final long[] k = keys;
+        final Object[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != 0) {
+                action.accept(k[i], (V) v[i]);
+            }
+        }
+    }
+
+    // -------------------------
+    // Internals
+    // -------------------------
+
+    private int indexOf(long key) {
+        final long[] k = keys;
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = k[i]) != 0) {
+            if (current == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Backward-shift deletion: moves later entries of the probe chain into
+     * the freed slot so lookups never need tombstones.
+     */
+    private void shiftKeys(int pos) {
+        final long[] k = keys;
+        final Object[] v = values;
+        int last;
+        int slot;
+        long current;
+
+        for (;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((current = k[pos]) == 0) {
+                    k[last] = 0;
+                    v[last] = null;
+                    return;
+                }
+                slot = LongHashing.mix(current) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            k[last] = current;
+            v[last] = v[pos];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = LongHashing.resizeThreshold(capacity);
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > LongHashing.MAX_CAPACITY) {
+            throw new IllegalStateException("LongObjectMap capacity exceeded");
+        }
+
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != 0) {
+                int i = LongHashing.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.yash.fineshyttt.util.collections;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of primitive longs.
+ *
+ * Same layout and probing as LongObjectMap, without the value array.
+ *
+ * Not thread-safe.
+ */
+public final class LongSet {
+
+    private long[] keys;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    private boolean hasZero;
+
+    public LongSet() {
+        this(4);
+    }
+
+    public LongSet(int expectedSize) {
+        allocate(LongHashing.capacityFor(expectedSize));
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        return keys[slotFor(key)] == key;
+    }
+
+    /**
+     * @return true if the key was not already present
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+
+        int i = slotFor(key);
+        if (keys[i] == key) {
+            return false;
+        }
+
+        keys[i] = key;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+
+        int i = slotFor(key);
+        if (keys[i] != key) {
+            return false;
+        }
+
+        shiftKeys(i);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return hasZero ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+        hasZero = false;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (hasZero) {
+            action.accept(0L);
+        }
+
+        final long[] k = keys;
+        for (long key : k) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size()];
+        int n = 0;
+        if (hasZero) {
+            result[n++] = 0L;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    // -------------------------
+    // Internals
+    // -------------------------
+
+    private int slotFor(long key) {
+        final long[] k = keys;
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = k[i]) != 0 && current != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void shiftKeys(int pos) {
+        final long[] k = keys;
+        int last;
+        int slot;
+        long current;
+
+        for (;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((current = k[pos]) == 0) {
+                    k[last] = 0;
+                    return;
+                }
+                slot = LongHashing.mix(current) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            k[last] = current;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = LongHashing.resizeThreshold(capacity);
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > LongHashing.MAX_CAPACITY) {
+            throw new IllegalStateException("LongSet capacity exceeded");
+        }
+
+        final long[] oldKeys = keys;
+        allocate(newCapacity);
+
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int i = LongHashing.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Store refresh token hashes as raw SHA-256 bytes (32) instead of 64 hex chars
+-- Halves the token_hash index; Postgres has no bytea(n), so the length is a CHECK
+
+ALTER TABLE refresh_tokens
+    ALTER COLUMN token_hash TYPE BYTEA USING decode(token_hash, 'hex');
+
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT chk_refresh_tokens_token_hash_length CHECK (octet_length(token_hash) = 32);
@@ -0,0 +1,10 @@
+-- When the user's access tokens were last revoked (token_generation bump)
+-- AccessTokenRevocationList rebuilds its in-memory deny list from the rows
+-- revoked within one access token TTL
+
+ALTER TABLE users
+    ADD COLUMN tokens_revoked_at TIMESTAMP;
+
+CREATE INDEX idx_users_tokens_revoked_at
+    ON users (tokens_revoked_at)
+    WHERE tokens_revoked_at IS NOT NULL;
@@ -0,0 +1,17 @@
+-- Support the abandoned cart purge job (CartPurgeJob)
+-- One partial index per purge rule, matching the (cursor, id) keyset of its
+-- candidate scan; they stay off the hot cart lookup indexes
+
+CREATE INDEX idx_carts_guest_expires_at
+    ON carts(expires_at, id)
+    WHERE session_id IS NOT NULL;
+
+CREATE INDEX idx_carts_guest_idle_updated_at
+    ON carts(updated_at, id)
+    WHERE session_id IS NOT NULL AND expires_at IS NULL;
+
+CREATE INDEX idx_carts_user_updated_at
+    ON carts(updated_at, id)
+    WHERE user_id IS NOT NULL;
+
+-- cart_items deletes by cart_id use the existing UNIQUE (cart_id, variant_id) index
@@ -0,0 +1,18 @@
+-- Price snapshot per cart line, validated at checkout (OrderService)
+-- price_version is bumped whenever any line is re-quoted
+
+ALTER TABLE carts
+    ADD COLUMN price_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE cart_items
+    ADD COLUMN unit_price NUMERIC(12,2);
+
+-- Existing lines are quoted at the current price
+UPDATE cart_items ci
+SET unit_price = pv.price
+FROM product_variants pv
+WHERE pv.id = ci.variant_id;
+
+ALTER TABLE cart_items
+    ALTER COLUMN unit_price SET NOT NULL,
+    ADD CONSTRAINT chk_cart_items_unit_price CHECK (unit_price >= 0);
@@ -0,0 +1,5 @@
+-- Per-user access token generation, carried in tokens as the "gen" claim
+-- Bumping it revokes every access token issued before (AccessTokenRevocationList)
+
+ALTER TABLE users
+    ADD COLUMN token_generation BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,91 @@
+-- Partition refresh_tokens by expires_at (one partition per day)
+--
+-- A partition whose whole range has expired holds only dead tokens and is
+-- dropped instantly by RefreshTokenPurgeJob, instead of deleting millions
+-- of rows and bloating the indexes. RefreshTokenPartitionMaintainer creates
+-- partitions ahead of time, beyond the refresh token TTL.
+--
+-- There is no DEFAULT partition: PostgreSQL refuses
+-- DETACH PARTITION ... CONCURRENTLY while one exists, and the job detaches
+-- concurrently so that logins and refreshes are not blocked behind an
+-- ACCESS EXCLUSIVE lock on refresh_tokens.
+--
+-- Only unexpired tokens are carried over. Revoked but unexpired tokens are
+-- kept so reuse detection keeps working.
+--
+-- Partitioned tables can only enforce UNIQUE on columns that include the
+-- partition key, so token_hash (SHA-256 of a random value) gets a plain
+-- index, and the primary key becomes (id, expires_at). ids still come from
+-- the original sequence.
+
+CREATE TABLE refresh_tokens_partitioned (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    token_hash VARCHAR(255) NOT NULL,
+    device_fingerprint VARCHAR(255) NOT NULL,
+    issued_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    revoked_at TIMESTAMP NULL,
+    last_used_at TIMESTAMP NULL,
+
+    CONSTRAINT pk_refresh_tokens_partitioned
+        PRIMARY KEY (id, expires_at),
+    CONSTRAINT fk_refresh_tokens_partitioned_user
+        FOREIGN KEY (user_id)
+            REFERENCES users(id)
+            ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+DO $$
+DECLARE
+    day DATE;
+    last_day DATE;
+BEGIN
+    -- Every carried-over token needs a partition, and 14 days ahead as
+    -- the maintainer would create them
+    SELECT COALESCE(MIN(expires_at)::date, CURRENT_DATE),
+           GREATEST(MAX(expires_at)::date, CURRENT_DATE + 14)
+    INTO day, last_day
+    FROM refresh_tokens
+    WHERE expires_at > now();
+
+    WHILE day <= last_day LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF refresh_tokens_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'refresh_tokens_p' || to_char(day, 'YYYYMMDD'), day, day + 1
+        );
+        day := day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO refresh_tokens_partitioned (
+    id, user_id, token_hash, device_fingerprint, issued_at,
+    expires_at, revoked, revoked_at, last_used_at
+)
+SELECT id, user_id, token_hash, device_fingerprint, issued_at,
+       expires_at, revoked, revoked_at, last_used_at
+FROM refresh_tokens
+WHERE expires_at > now();
+
+-- Keep the id sequence when the old table goes
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY NONE;
+DROP TABLE refresh_tokens;
+
+ALTER TABLE refresh_tokens_partitioned RENAME TO refresh_tokens;
+ALTER TABLE refresh_tokens RENAME CONSTRAINT pk_refresh_tokens_partitioned TO pk_refresh_tokens;
+ALTER TABLE refresh_tokens RENAME CONSTRAINT fk_refresh_tokens_partitioned_user TO fk_refresh_tokens_user;
+ALTER TABLE refresh_tokens ALTER COLUMN id SET DEFAULT nextval('refresh_tokens_id_seq');
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+-- Created on the parent, propagated to every partition
+CREATE INDEX idx_refresh_tokens_user_id
+    ON refresh_tokens(user_id);
+
+CREATE INDEX idx_refresh_tokens_token_hash
+    ON refresh_tokens(token_hash);
+
+-- Revoked-token purge scan (RefreshTokenPurgeJob)
+CREATE INDEX idx_refresh_tokens_revoked_at
+    ON refresh_tokens(revoked_at)
+    WHERE revoked;
@@ -1,17 +1,44 @@
 package com.yash.fineshyttt;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.security.JwtService;
+import com.yash.fineshyttt.support.SqlStatementCounter;
+import com.yash.fineshyttt.support.TestJwtKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-context MockMvc tests on H2, each in a rolled-back transaction
+ *
+ * SQL statement budgets: performWithin(max, request) fails the test if the
+ * request prepares more than max Hibernate statements (SqlStatementCounter),
+ * so N+1 regressions show up as test failures. Pending test data is flushed
+ * and the persistence context cleared first, so the request pays for its own
+ * reads instead of hitting entities the test just saved; its pending writes
+ * are flushed and counted afterwards. Caches that outlive a test (users,
+ * variants) may make repeated requests cheaper, so budgets are upper bounds.
+ */
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.yash.fineshyttt.support.SqlStatementCounter")
 @Transactional
 public abstract class BaseIntegrationTest {
 
@@ -20,4 +47,41 @@ public abstract class BaseIntegrationTest {
 
     @Autowired
     protected ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void jwtKeys(DynamicPropertyRegistry registry) {
+        TestJwtKeys.register(registry);
+    }
+
+    /**
+     * Perform the request and assert it prepared at most maxStatements SQL statements.
+     */
+    protected ResultActions performWithin(int maxStatements, RequestBuilder request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        ResultActions result = mockMvc.perform(request);
+        entityManager.flush();
+
+        int statements = SqlStatementCounter.count();
+        MockHttpServletRequest performed = result.andReturn().getRequest();
+        assertThat(statements)
+                .as("SQL statements for %s %s", performed.getMethod(), performed.getRequestURI())
+                .isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    /**
+     * "Authorization" header value with an access token for the user.
+     */
+    protected String bearer(User user) {
+        return "Bearer " + jwtService.generateAccessToken(user);
+    }
 }
@@ -0,0 +1,136 @@
+package com.yash.fineshyttt.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (baseline, current)
+ *
+ * A benchmark regresses when, compared with the baseline:
+ * - Score: it is slower by more than the threshold (default 10%) and the
+ *   difference exceeds both runs' error margins (throughput: lower is
+ *   slower; average/sample/single-shot time: higher is slower)
+ * - Allocation: gc.alloc.rate.norm (bytes/op) grew by more than the
+ *   threshold and by more than 16 bytes
+ *
+ * Benchmarks present in only one file are listed, not failed.
+ * Exits with status 1 if anything regressed or the baseline is missing
+ * (without one nothing is checked, which must not pass as "no regressions";
+ * record it with -Dbenchmark.result=benchmarks/baseline.json).
+ *
+ * Arguments: baseline.json current.json [threshold, e.g. 0.10]
+ */
+public final class BenchmarkComparator {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    private static final double ALLOC_NOISE_BYTES = 16;
+
+    private BenchmarkComparator() {
+    }
+
+    record Result(String key, String mode, double score, double error, String unit, Double allocNorm) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparator <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+        }
+
+        Path baselineFile = Path.of(args[0]);
+        Path currentFile = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile.toAbsolutePath()
+                    + "; record one on the reference machine (benchmarks/README.md)");
+            System.exit(1);
+        }
+
+        List<String> regressions = compare(read(baselineFile), read(currentFile), threshold);
+
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " regression(s) above " + Math.round(threshold * 100) + "%:");
+            regressions.forEach(line -> System.out.println("  " + line));
+            System.exit(1);
+        }
+        System.out.println("No regressions above " + Math.round(threshold * 100) + "%");
+    }
+
+    static List<String> compare(Map<String, Result> baseline, Map<String, Result> current, double threshold) {
+        List<String> regressions = new ArrayList<>();
+
+        for (Result now : current.values()) {
+            Result before = baseline.get(now.key());
+            if (before == null) {
+                System.out.println("NEW      " + now.key());
+                continue;
+            }
+
+            boolean higherIsBetter = "thrpt".equals(now.mode());
+            double slowdown = higherIsBetter
+                    ? before.score() / now.score() - 1
+                    : now.score() / before.score() - 1;
+            boolean significant = Math.abs(now.score() - before.score()) > before.error() + now.error();
+
+            String line = String.format("%-8s %s: %.3f → %.3f %s (%+.1f%%)",
+                    slowdown > threshold && significant ? "SLOWER" : "ok",
+                    now.key(), before.score(), now.score(), now.unit(), slowdown * 100);
+            System.out.println(line);
+            if (slowdown > threshold && significant) {
+                regressions.add(line.substring(9));
+            }
+
+            if (before.allocNorm() != null && now.allocNorm() != null) {
+                double growth = now.allocNorm() - before.allocNorm();
+                if (growth > ALLOC_NOISE_BYTES && growth > before.allocNorm() * threshold) {
+                    String alloc = String.format("%s: %.0f → %.0f B/op allocated",
+                            now.key(), before.allocNorm(), now.allocNorm());
+                    System.out.println("ALLOC    " + alloc);
+                    regressions.add(alloc);
+                }
+            }
+        }
+
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.println("MISSING  " + key));
+
+        return regressions;
+    }
+
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+
+        for (JsonNode node : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText());
+            node.path("params").fields().forEachRemaining(param ->
+                    key.append(key.indexOf(":") < 0 ? ":" : ",")
+                            .append(param.getKey()).append('=').append(param.getValue().asText()));
+            String mode = node.path("mode").asText();
+            key.append(" [").append(mode).append(']');
+
+            JsonNode primary = node.path("primaryMetric");
+            JsonNode alloc = node.path("secondaryMetrics").path(ALLOC_NORM);
+            double error = primary.path("scoreError").asDouble(0);
+
+            results.put(key.toString(), new Result(
+                    key.toString(),
+                    mode,
+                    primary.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    primary.path("scoreUnit").asText(),
+                    alloc.isMissingNode() ? null : alloc.path("score").asDouble()
+            ));
+        }
+
+        return results;
+    }
+}
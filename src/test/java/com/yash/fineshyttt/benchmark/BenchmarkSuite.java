@@ -0,0 +1,66 @@
+package com.yash.fineshyttt.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Domain hot path benchmark suite
+ *
+ * Runs the JMH suites below with the GC profiler and writes the results as
+ * JMH JSON, which BenchmarkComparator checks against the committed baseline
+ * (benchmarks/baseline.json):
+ *
+ * - JwtServiceBenchmark: access token sign / verify
+ * - TokenHasherBenchmark: refresh token hashing
+ * - ResponseMappingBenchmark: CartResponse.from / OrderResponse.from
+ * - SlugServiceBenchmark: SlugService.generate
+ * - CouponDiscountBenchmark: Coupon.discountFor
+ * - GlobalExceptionHandlerBenchmark: error response building
+ * - MetricsOverheadBenchmark: @Timed proxy / histogram timer / counter cost
+ *
+ * Arguments: [include regex] [result file]
+ *
+ * Run:
+ *   mvn -Pbenchmarks verify
+ */
+public final class BenchmarkSuite {
+
+    public static final String DEFAULT_INCLUDE = String.join("|",
+            "JwtServiceBenchmark",
+            "TokenHasherBenchmark",
+            "ResponseMappingBenchmark",
+            "SlugServiceBenchmark",
+            "CouponDiscountBenchmark",
+            "GlobalExceptionHandlerBenchmark",
+            "MetricsOverheadBenchmark"
+    );
+
+    private BenchmarkSuite() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 && !args[0].isBlank() ? args[0] : DEFAULT_INCLUDE;
+        Path result = Path.of(args.length > 1 ? args[1] : "target/benchmarks/current.json");
+
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+
+        new Runner(new OptionsBuilder()
+                .include("\\.(" + include + ")\\.")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build()
+        ).run();
+
+        System.out.println("Benchmark results written to " + result.toAbsolutePath());
+    }
+}
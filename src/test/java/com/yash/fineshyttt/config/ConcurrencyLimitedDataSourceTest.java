@@ -0,0 +1,60 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DataSource pool = Mockito.mock(DataSource.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Mockito.when(pool.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        dataSource = new ConcurrencyLimitedDataSource(pool, "dataSource", 2, Duration.ofMillis(50));
+        dataSource.bindTo(registry);
+    }
+
+    @Test
+    void shouldRejectBeyondLimitAfterTimeout() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(registry.get("db.concurrency.rejected").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermitOnceOnClose() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        dataSource.getConnection();
+        assertThat(dataSource.getActive()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        Mockito.when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+        assertThat(dataSource.getActive()).isZero();
+    }
+}
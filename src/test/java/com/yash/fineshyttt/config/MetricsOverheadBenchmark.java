@@ -0,0 +1,123 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service instrumentation on a Prometheus registry
+ *
+ * - direct: the unit of work alone (baseline)
+ * - timerWithHistogram: explicit Timer.record with a percentile histogram
+ *   (bounded by minimum/maximum expected values as in application.yml)
+ * - timedAspect: the same work through a @Timed proxy (TimedAspect), i.e.
+ *   what each instrumented service call pays
+ * - counter: explicit failure counter increment
+ *
+ * The @Timed overhead is the difference between timedAspect and direct;
+ * it is paid once per service call, next to milliseconds of database work.
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.config.MetricsOverheadBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    public static class Work {
+        public long compute(long seed) {
+            Blackhole.consumeCPU(64);
+            return seed * 31;
+        }
+    }
+
+    public static class TimedWork extends Work {
+        @Override
+        @Timed(value = "bench.work", histogram = true)
+        public long compute(long seed) {
+            return super.compute(seed);
+        }
+    }
+
+    private final Work direct = new Work();
+    private Work proxied;
+    private Timer timer;
+    private Counter counter;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        timer = Timer.builder("bench.explicit")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry);
+        counter = registry.counter("bench.failures", "reason", "insufficient_stock");
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TimedWork());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        proxied = factory.getProxy();
+    }
+
+    @Benchmark
+    public long direct() {
+        return direct.compute(42L);
+    }
+
+    @Benchmark
+    public long timerWithHistogram() {
+        long start = System.nanoTime();
+        long result = direct.compute(42L);
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    @Benchmark
+    public long timedAspect() {
+        return proxied.compute(42L);
+    }
+
+    @Benchmark
+    public void counter() {
+        counter.increment();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetricsOverheadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing through JPA, the way the services use it
+ *
+ * JpaTransactionManager with HibernateJpaDialect marks the connection
+ * read-only when the transaction begins; routing only works if that
+ * reaches the LazyConnectionDataSourceProxy before the first statement
+ * fetches the physical connection.
+ */
+class ReadWriteRoutingJpaTest {
+
+    private final ReplicaProperties properties = new ReplicaProperties();
+
+    private ReplicaLagMonitor lagMonitor;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLagQuery("SELECT 0");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DataSource replica = ReadWriteRoutingTest.database("replica");
+
+        lagMonitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+        lagMonitor.check();
+        DataSource dataSource = ReadWriteRoutingConfig.routing(
+                ReadWriteRoutingTest.database("primary"), replica, lagMonitor,
+                new ReadYourWritesTracker(Duration.ofMinutes(1)), meterRegistry);
+
+        Properties jpaProperties = new Properties();
+        jpaProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaProperties(jpaProperties);
+        // Native queries only: no entities in this package
+        entityManagerFactory.setPackagesToScan(ReadWriteRoutingJpaTest.class.getPackageName());
+        entityManagerFactory.afterPropertiesSet();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+        transactionManager.setJpaDialect(new HibernateJpaDialect());
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void shouldRouteReadOnlyJpaTransactionsToReplica() {
+        assertThat(readOnlySource()).isEqualTo("replica");
+        assertThat(readWriteSource()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLags() {
+        properties.setSimulatedLag(Duration.ofSeconds(10));
+        lagMonitor.check();
+
+        assertThat(readOnlySource()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldReadOwnJpaWritesFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("writer@example.com", null, List.of()));
+
+        readWrite.executeWithoutResult(status ->
+                entityManager.createNativeQuery("INSERT INTO writes (id) VALUES (1)").executeUpdate());
+
+        assertThat(readOnlySource()).isEqualTo("primary");
+    }
+
+    private String readOnlySource() {
+        return readOnly.execute(status -> source());
+    }
+
+    private String readWriteSource() {
+        return readWrite.execute(status -> source());
+    }
+
+    private String source() {
+        return (String) entityManager.createNativeQuery("SELECT name FROM source").getSingleResult();
+    }
+}
@@ -0,0 +1,159 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two separate in-memory databases, each knowing its own name
+ */
+class ReadWriteRoutingTest {
+
+    private final ReplicaProperties properties = new ReplicaProperties();
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource readOnlyDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLagQuery("SELECT 0");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+
+        lagMonitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+        lagMonitor.check();
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        DataSource dataSource = ReadWriteRoutingConfig.routing(primary, replica, lagMonitor, readYourWrites, meterRegistry);
+        readOnlyDataSource = new ReplicaRoutingDataSource(replica, primary, lagMonitor, readYourWrites, meterRegistry);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(readOnlySource()).isEqualTo("replica");
+        assertThat(readWriteSource()).isEqualTo("primary");
+        assertThat(source()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLags() {
+        properties.setSimulatedLag(Duration.ofSeconds(10));
+        lagMonitor.check();
+
+        assertThat(lagMonitor.isUsable()).isFalse();
+        assertThat(readOnlySource()).isEqualTo("primary");
+
+        properties.setSimulatedLag(Duration.ZERO);
+        lagMonitor.check();
+
+        assertThat(readOnlySource()).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimary() {
+        signIn("writer@example.com");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO writes (id) VALUES (?)", 1));
+
+        assertThat(readOnlySource()).isEqualTo("primary");
+
+        signIn("reader@example.com");
+        assertThat(readOnlySource()).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldNotStickAfterRolledBackWrite() {
+        signIn("writer@example.com");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO writes (id) VALUES (?)", 1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlySource()).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldRouteConnectionsWithExplicitCredentials() throws Exception {
+        assertThat(sourceOf(readOnlyDataSource.getConnection("sa", ""))).isEqualTo("replica");
+
+        properties.setSimulatedLag(Duration.ofSeconds(10));
+        lagMonitor.check();
+
+        assertThat(sourceOf(readOnlyDataSource.getConnection("sa", ""))).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldRecognizeWriteStatements() {
+        assertThat(ReadYourWritesTracker.isWrite("  insert into carts values (?)")).isTrue();
+        assertThat(ReadYourWritesTracker.isWrite("UPDATE users SET last_login_at = ?")).isTrue();
+        assertThat(ReadYourWritesTracker.isWrite("select * from updates")).isFalse();
+    }
+
+    private String readOnlySource() {
+        return readOnly.execute(status -> source());
+    }
+
+    private String readWriteSource() {
+        return readWrite.execute(status -> source());
+    }
+
+    private String source() {
+        return jdbcTemplate.queryForObject("SELECT name FROM source", String.class);
+    }
+
+    private static String sourceOf(Connection connection) throws SQLException {
+        try (connection;
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM source")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+
+    static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE source (name VARCHAR(16))");
+        jdbc.execute("CREATE TABLE writes (id INT)");
+        jdbc.update("INSERT INTO source (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
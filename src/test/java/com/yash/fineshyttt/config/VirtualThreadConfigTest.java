@@ -0,0 +1,113 @@
+package com.yash.fineshyttt.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Which beans VirtualThreadConfig touches, with virtual threads on and off
+ * (the pools are never started)
+ */
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+            // Durations in @Value, as SpringApplication would convert them
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(VirtualThreadConfig.class, DataSources.class)
+            .withPropertyValues("diagnostics.virtual-threads.pinning-monitor=false");
+
+    @Test
+    void shouldLimitEveryHikariPoolOnVirtualThreads() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> {
+                    DataSource primary = context.getBean("primaryDataSource", DataSource.class);
+                    DataSource replica = context.getBean("replicaDataSource", DataSource.class);
+
+                    assertThat(primary).isInstanceOf(ConcurrencyLimitedDataSource.class);
+                    assertThat(replica).isInstanceOf(ConcurrencyLimitedDataSource.class);
+                    // One permit per pooled connection by default
+                    assertThat(((ConcurrencyLimitedDataSource) primary).getMaxConcurrent()).isEqualTo(4);
+                    assertThat(((ConcurrencyLimitedDataSource) replica).getMaxConcurrent()).isEqualTo(6);
+                    assertThat(((ConcurrencyLimitedDataSource) primary).getTargetDataSource())
+                            .isInstanceOf(HikariDataSource.class);
+
+                    // Not a pool: left alone
+                    assertThat(context.getBean("plainDataSource")).isInstanceOf(DriverManagerDataSource.class);
+
+                    MeterRegistry registry = context.getBean(MeterRegistry.class);
+                    assertThat(registry.find("db.concurrency.active").tag("pool", "primaryDataSource").gauge()).isNotNull();
+                    assertThat(registry.find("db.concurrency.active").tag("pool", "replicaDataSource").gauge()).isNotNull();
+                });
+    }
+
+    @Test
+    void shouldApplyConfiguredConcurrencyLimit() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true", "database.concurrency.max-concurrent=3")
+                .run(context -> assertThat(context.getBean("replicaDataSource"))
+                        .isInstanceOfSatisfying(ConcurrencyLimitedDataSource.class,
+                                dataSource -> assertThat(dataSource.getMaxConcurrent()).isEqualTo(3)));
+    }
+
+    @Test
+    void shouldLeavePoolsAloneOnPlatformThreads() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean("primaryDataSource")).isInstanceOf(HikariDataSource.class);
+            assertThat(context).doesNotHaveBean(VirtualThreadConfig.DataSourceConcurrencyLimiter.class);
+        });
+    }
+
+    @Test
+    void shouldRegisterPinningMonitorOnVirtualThreads() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true",
+                        "diagnostics.virtual-threads.pinning-monitor=true")
+                .run(context -> assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class DataSources {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        HikariDataSource primaryDataSource() {
+            return pool("primary", 4);
+        }
+
+        @Bean
+        HikariDataSource replicaDataSource() {
+            return pool("replica", 6);
+        }
+
+        @Bean
+        DriverManagerDataSource plainDataSource() {
+            return new DriverManagerDataSource("jdbc:h2:mem:plain");
+        }
+
+        private static HikariDataSource pool(String name, int size) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl("jdbc:h2:mem:" + name);
+            pool.setMaximumPoolSize(size);
+            return pool;
+        }
+    }
+}
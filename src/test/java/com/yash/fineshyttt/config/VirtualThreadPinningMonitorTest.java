@@ -0,0 +1,109 @@
+package com.yash.fineshyttt.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Site attribution and the site cap, on mocked JFR events (innermost frame first)
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(20));
+
+    @Test
+    void shouldAttributeToInnermostApplicationFrame() {
+        String site = VirtualThreadPinningMonitor.site(List.of(
+                frame("java.util.concurrent.ConcurrentHashMap", "compute"),
+                frame("com.github.benmanes.caffeine.cache.BoundedLocalCache", "doComputeIfAbsent"),
+                frame("com.yash.fineshyttt.service.product.VariantLookupCache", "load"),
+                frame("com.yash.fineshyttt.controller.CartController", "addItem")
+        ));
+
+        assertThat(site).isEqualTo("VariantLookupCache.load");
+    }
+
+    @Test
+    void shouldFallBackToInnermostLibraryFrame() {
+        String site = VirtualThreadPinningMonitor.site(List.of(
+                frame("java.lang.Object", "wait"),
+                frame("org.postgresql.core.v3.QueryExecutorImpl", "execute"),
+                frame("com.zaxxer.hikari.pool.ProxyStatement", "executeQuery"),
+                frame("java.lang.Thread", "run")
+        ));
+
+        assertThat(site).isEqualTo("QueryExecutorImpl.execute");
+    }
+
+    @Test
+    void shouldSkipNativeFramesAndDefaultToJdk() {
+        RecordedFrame nativeFrame = frame("com.yash.fineshyttt.Native", "call");
+        when(nativeFrame.isJavaFrame()).thenReturn(false);
+
+        assertThat(VirtualThreadPinningMonitor.site(List.of(
+                nativeFrame,
+                frame("jdk.internal.misc.Unsafe", "park"),
+                frame("sun.nio.ch.NioSocketImpl", "read")
+        ))).isEqualTo("jdk");
+        assertThat(VirtualThreadPinningMonitor.site(List.of())).isEqualTo("jdk");
+    }
+
+    @Test
+    void shouldRecordPinnedTimePerSite() {
+        monitor.onPinned(event(Duration.ofMillis(30), frame("com.yash.fineshyttt.A", "run")));
+        monitor.onPinned(event(Duration.ofMillis(50), frame("com.yash.fineshyttt.A", "run")));
+
+        Timer timer = registry.get("jvm.threads.virtual.pinned").tag("site", "A.run").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80);
+    }
+
+    @Test
+    void shouldTagSitesBeyondTheCapAsOther() {
+        for (int i = 0; i < 60; i++) {
+            monitor.onPinned(event(Duration.ofMillis(25), frame("com.yash.fineshyttt.Site" + i, "run")));
+        }
+        // Known sites keep their own timer once the cap is reached
+        monitor.onPinned(event(Duration.ofMillis(25), frame("com.yash.fineshyttt.Site0", "run")));
+
+        assertThat(registry.find("jvm.threads.virtual.pinned").timers()).hasSize(51);
+        assertThat(registry.get("jvm.threads.virtual.pinned").tag("site", "other").timer().count()).isEqualTo(10);
+        assertThat(registry.get("jvm.threads.virtual.pinned").tag("site", "Site0.run").timer().count()).isEqualTo(2);
+        assertThat(registry.find("jvm.threads.virtual.pinned").tag("site", "Site50.run").timer()).isNull();
+    }
+
+    private static RecordedEvent event(Duration duration, RecordedFrame... frames) {
+        RecordedStackTrace stackTrace = mock(RecordedStackTrace.class);
+        when(stackTrace.getFrames()).thenReturn(List.of(frames));
+        RecordedEvent event = mock(RecordedEvent.class);
+        when(event.getStackTrace()).thenReturn(stackTrace);
+        when(event.getDuration()).thenReturn(duration);
+        return event;
+    }
+
+    private static RecordedFrame frame(String type, String method) {
+        RecordedClass recordedClass = mock(RecordedClass.class);
+        when(recordedClass.getName()).thenReturn(type);
+        RecordedMethod recordedMethod = mock(RecordedMethod.class);
+        when(recordedMethod.getType()).thenReturn(recordedClass);
+        when(recordedMethod.getName()).thenReturn(method);
+        RecordedFrame frame = mock(RecordedFrame.class);
+        when(frame.isJavaFrame()).thenReturn(true);
+        when(frame.getMethod()).thenReturn(recordedMethod);
+        return frame;
+    }
+}
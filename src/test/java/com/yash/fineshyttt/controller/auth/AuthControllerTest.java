@@ -4,17 +4,11 @@ import com.yash.fineshyttt.BaseIntegrationTest;
 import com.yash.fineshyttt.dto.auth.LoginRequest;
 import com.yash.fineshyttt.dto.auth.RegisterRequest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
-@AutoConfigureMockMvc
 class AuthControllerTest extends BaseIntegrationTest {
 
     @Test
@@ -24,7 +18,8 @@ class AuthControllerTest extends BaseIntegrationTest {
                 "Test@1234"
         );
 
-        mockMvc.perform(post("/api/auth/register")
+        // Email check, role lookup, user insert, user_roles insert
+        performWithin(4, post("/api/v1/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated());
@@ -37,7 +32,8 @@ class AuthControllerTest extends BaseIntegrationTest {
                 "weak"
         );
 
-        mockMvc.perform(post("/api/auth/register")
+        // Rejected by validation before any query
+        performWithin(0, post("/api/v1/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
@@ -51,7 +47,7 @@ class AuthControllerTest extends BaseIntegrationTest {
                 "Test@1234"
         );
 
-        mockMvc.perform(post("/api/auth/register")
+        performWithin(0, post("/api/v1/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
@@ -65,9 +61,10 @@ class AuthControllerTest extends BaseIntegrationTest {
                 "Test@1234"
         );
 
-        mockMvc.perform(post("/api/auth/register")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(registerRequest)));
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated());
 
         // Then login
         LoginRequest loginRequest = new LoginRequest(
@@ -76,7 +73,8 @@ class AuthControllerTest extends BaseIntegrationTest {
                 "test-device"
         );
 
-        mockMvc.perform(post("/api/auth/login")
+        // Email → id, user with roles, refresh token insert (last login is batched)
+        performWithin(3, post("/api/v1/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
@@ -92,7 +90,8 @@ class AuthControllerTest extends BaseIntegrationTest {
                 "test-device"
         );
 
-        mockMvc.perform(post("/api/auth/login")
+        // Email lookup only
+        performWithin(1, post("/api/v1/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized());
@@ -7,12 +7,13 @@ import com.yash.fineshyttt.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.test.context.support.WithMockUser;
 
 import java.math.BigDecimal;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +34,9 @@ class CartControllerTest extends BaseIntegrationTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CartRepository cartRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -85,14 +89,16 @@ class CartControllerTest extends BaseIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "cart@example.com")
     void shouldAddItemToCart() throws Exception {
         CartItemRequest request = new CartItemRequest(
                 testVariant.getId(),
                 2
         );
 
-        mockMvc.perform(post("/api/cart/items")
+        // Variant lookup, cart id, cart insert, line lookup, line insert,
+        // touch, re-quote, cart view (+ the variant's inventory row)
+        performWithin(9, post("/api/v1/cart/items")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(testUser))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
@@ -102,17 +108,40 @@ class CartControllerTest extends BaseIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "cart@example.com")
     void shouldGetEmptyCart() throws Exception {
-        mockMvc.perform(get("/api/cart"))
+        // Cart view only: no cart row is created until the first add
+        performWithin(1, get("/api/v1/cart")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(testUser)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.items").isEmpty())
                 .andExpect(jsonPath("$.totalItems").value(0));
+
+        assertThat(cartRepository.existsByUser_Id(testUser.getId())).isFalse();
+    }
+
+    @Test
+    void shouldShowQuotedPricesWithoutRequoting() throws Exception {
+        Cart cart = Cart.builder().user(testUser).build();
+        cart.getItems().add(CartItem.builder()
+                .cart(cart)
+                .variant(testVariant)
+                .quantity(1)
+                .unitPrice(BigDecimal.valueOf(900))
+                .build());
+        cartRepository.save(cart);
+
+        // Cart view (+ the variant's inventory row), no re-quote UPDATE:
+        // the stale quote is caught at checkout
+        performWithin(2, get("/api/v1/cart")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(testUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceVersion").value(0))
+                .andExpect(jsonPath("$.items[0].price").value(900));
     }
 
     @Test
     void shouldRejectUnauthenticatedCartAccess() throws Exception {
-        mockMvc.perform(get("/api/cart"))
+        performWithin(0, get("/api/v1/cart"))
                 .andExpect(status().isUnauthorized());
     }
 }
@@ -0,0 +1,186 @@
+package com.yash.fineshyttt.controller.order;
+
+import com.yash.fineshyttt.BaseIntegrationTest;
+import com.yash.fineshyttt.domain.*;
+import com.yash.fineshyttt.dto.order.CheckoutRequest;
+import com.yash.fineshyttt.repository.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class OrderControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User testUser;
+    private Address address;
+    private final List<ProductVariant> variants = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(new User("checkout@example.com", "unused"));
+
+        address = addressRepository.save(Address.builder()
+                .user(testUser)
+                .addressType(AddressType.SHIPPING)
+                .fullName("Checkout User")
+                .phoneNumber("9000000000")
+                .addressLine1("1 Test Street")
+                .city("Pune")
+                .state("MH")
+                .postalCode("411001")
+                .country("IN")
+                .build());
+
+        Category category = categoryRepository.save(Category.builder()
+                .name("Checkout Category")
+                .isActive(true)
+                .build());
+
+        Product product = productRepository.save(Product.builder()
+                .name("Checkout Product")
+                .slug("checkout-product")
+                .description("Test Description")
+                .category(category)
+                .isActive(true)
+                .build());
+
+        Cart cart = cartRepository.save(Cart.builder().user(testUser).build());
+
+        for (String size : new String[]{"M", "L"}) {
+            ProductVariant variant = variantRepository.save(ProductVariant.builder()
+                    .product(product)
+                    .sku("CHECKOUT-" + size)
+                    .material("Cotton")
+                    .color("Blue")
+                    .size(size)
+                    .price(BigDecimal.valueOf(1000))
+                    .isActive(true)
+                    .build());
+            variants.add(variant);
+
+            inventoryRepository.save(Inventory.builder()
+                    .variant(variant)
+                    .quantity(100)
+                    .reservedQuantity(0)
+                    .build());
+
+            cart.getItems().add(CartItem.builder()
+                    .cart(cart)
+                    .variant(variant)
+                    .quantity(2)
+                    .unitPrice(variant.getPrice())
+                    .build());
+        }
+
+        cartRepository.save(cart);
+    }
+
+    @Test
+    void shouldCheckoutCartWithinStatementBudget() throws Exception {
+        CheckoutRequest request = new CheckoutRequest(address.getId(), address.getId(), null, null);
+        DistributionSummary lines = meterRegistry.summary("orders.checkout.lines");
+        DistributionSummary amount = meterRegistry.summary("orders.checkout.amount");
+        long ordersBefore = lines.count();
+        double linesBefore = lines.totalAmount();
+        double amountBefore = amount.totalAmount();
+
+        // Reads don't depend on the line count: user, cart + lines, 2 addresses,
+        // inventory + variants, product for the response (one per product).
+        // Writes are per line: order, 2 items, status history, 2 reservations,
+        // 2 cart line deletes, cart touch.
+        performWithin(16, post("/api/v1/orders/checkout")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.totalAmount").value(4000));
+
+        assertThat(lines.count()).isEqualTo(ordersBefore + 1);
+        assertThat(lines.totalAmount() - linesBefore).isEqualTo(2.0);
+        assertThat(amount.totalAmount() - amountBefore).isEqualTo(4000.0);
+    }
+
+    @Test
+    void shouldRequoteAndRejectCheckoutWhenPricesChanged() throws Exception {
+        variants.forEach(variant -> variant.setPrice(BigDecimal.valueOf(1200)));
+        variantRepository.saveAll(variants);
+
+        performWithin(16, post("/api/v1/orders/checkout")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CheckoutRequest(address.getId(), address.getId(), null, 0L))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("CART_PRICE_CHANGED"))
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.repricedLines.length()").value(2))
+                .andExpect(jsonPath("$.repricedLines[0].itemId").isNumber())
+                .andExpect(jsonPath("$.repricedLines[0].sku").value("CHECKOUT-M"))
+                .andExpect(jsonPath("$.repricedLines[0].oldPrice").value(1000))
+                .andExpect(jsonPath("$.repricedLines[0].newPrice").value(1200));
+
+        // The re-quote is kept (noRollbackFor): lines at the new price, version bumped
+        Cart cart = cartRepository.findWithItemsByUserId(testUser.getId()).orElseThrow();
+        assertThat(cart.getPriceVersion()).isEqualTo(1);
+        assertThat(cart.getItems())
+                .allSatisfy(item -> assertThat(item.getPrice()).isEqualByComparingTo("1200"));
+
+        // Retried with the version the customer has now reviewed
+        performWithin(16, post("/api/v1/orders/checkout")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CheckoutRequest(address.getId(), address.getId(), null, 1L))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalAmount").value(4800));
+    }
+
+    @Test
+    void shouldRejectCheckoutOfUnreviewedPriceVersion() throws Exception {
+        // Prices are current, but the customer reviewed an older quote
+        performWithin(16, post("/api/v1/orders/checkout")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CheckoutRequest(address.getId(), address.getId(), null, 3L))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("CART_PRICE_CHANGED"))
+                .andExpect(jsonPath("$.repricedLines").doesNotExist());
+    }
+}
@@ -0,0 +1,71 @@
+package com.yash.fineshyttt.controller.publicapi;
+
+import com.yash.fineshyttt.BaseIntegrationTest;
+import com.yash.fineshyttt.domain.Category;
+import com.yash.fineshyttt.domain.Product;
+import com.yash.fineshyttt.domain.ProductImage;
+import com.yash.fineshyttt.repository.CategoryRepository;
+import com.yash.fineshyttt.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProductPublicControllerTest extends BaseIntegrationTest {
+
+    private static final int PRODUCTS = 5;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Listing Category")
+                .isActive(true)
+                .build());
+
+        for (int p = 0; p < PRODUCTS; p++) {
+            Product product = Product.builder()
+                    .name("Listing Product " + p)
+                    .slug("listing-product-" + p)
+                    .description("Test Description")
+                    .category(category)
+                    .isActive(true)
+                    .build();
+
+            for (int position = 1; position >= 0; position--) {
+                product.getImages().add(ProductImage.builder()
+                        .product(product)
+                        .imageUrl("https://cdn.example.com/listing-" + p + "-" + position + ".jpg")
+                        .position(position)
+                        .isPrimary(position == 0)
+                        .build());
+            }
+
+            productRepository.save(product);
+        }
+    }
+
+    @Test
+    void shouldListProductsWithoutLoadingImagesPerProduct() throws Exception {
+        // Page (with category), images for the whole page; no count on a partial first page
+        performWithin(2, get("/api/v1/products").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(PRODUCTS))
+                .andExpect(jsonPath("$.content[0].images.length()").value(2));
+    }
+
+    @Test
+    void shouldGetProductBySlugInOneStatement() throws Exception {
+        performWithin(1, get("/api/v1/products/listing-product-3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slug").value("listing-product-3"))
+                .andExpect(jsonPath("$.images[0]").value("https://cdn.example.com/listing-3-0.jpg"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.yash.fineshyttt.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coupon discount calculation at checkout (Coupon.discountFor)
+ *
+ * - percentage: BigDecimal multiply + divide by 100
+ * - percentageCapped: same, clamped to maxDiscount
+ * - fixed: fixed amount, no arithmetic
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.domain.CouponDiscountBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CouponDiscountBenchmark {
+
+    private final BigDecimal totalAmount = new BigDecimal("8997.00");
+
+    private final Coupon percentage = Coupon.builder()
+            .code("SAVE15")
+            .discountType(DiscountType.PERCENTAGE)
+            .discountValue(new BigDecimal("15.00"))
+            .build();
+
+    private final Coupon percentageCapped = Coupon.builder()
+            .code("SAVE15MAX500")
+            .discountType(DiscountType.PERCENTAGE)
+            .discountValue(new BigDecimal("15.00"))
+            .maxDiscount(new BigDecimal("500.00"))
+            .build();
+
+    private final Coupon fixed = Coupon.builder()
+            .code("FLAT250")
+            .discountType(DiscountType.FIXED)
+            .discountValue(new BigDecimal("250.00"))
+            .build();
+
+    @Benchmark
+    public BigDecimal percentage() {
+        return percentage.discountFor(totalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal percentageCapped() {
+        return percentageCapped.discountFor(totalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal fixed() {
+        return fixed.discountFor(totalAmount);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CouponDiscountBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
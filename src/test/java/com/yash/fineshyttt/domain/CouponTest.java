@@ -0,0 +1,42 @@
+package com.yash.fineshyttt.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponTest {
+
+    private final BigDecimal total = new BigDecimal("2000.00");
+
+    @Test
+    void shouldApplyPercentage() {
+        Coupon coupon = coupon(DiscountType.PERCENTAGE, "15.00", null);
+
+        assertThat(coupon.discountFor(total)).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void shouldCapAtMaxDiscount() {
+        Coupon coupon = coupon(DiscountType.PERCENTAGE, "15.00", "250.00");
+
+        assertThat(coupon.discountFor(total)).isEqualByComparingTo("250.00");
+    }
+
+    @Test
+    void shouldApplyFixedAmount() {
+        Coupon coupon = coupon(DiscountType.FIXED, "120.00", "100.00");
+
+        assertThat(coupon.discountFor(total)).isEqualByComparingTo("100.00");
+    }
+
+    private static Coupon coupon(DiscountType type, String value, String maxDiscount) {
+        return Coupon.builder()
+                .code("TEST")
+                .discountType(type)
+                .discountValue(new BigDecimal(value))
+                .maxDiscount(maxDiscount != null ? new BigDecimal(maxDiscount) : null)
+                .build();
+    }
+}
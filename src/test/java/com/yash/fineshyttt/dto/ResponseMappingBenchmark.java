@@ -0,0 +1,114 @@
+package com.yash.fineshyttt.dto;
+
+import com.yash.fineshyttt.domain.Address;
+import com.yash.fineshyttt.domain.Cart;
+import com.yash.fineshyttt.domain.CartItem;
+import com.yash.fineshyttt.domain.Coupon;
+import com.yash.fineshyttt.domain.DiscountType;
+import com.yash.fineshyttt.domain.Order;
+import com.yash.fineshyttt.domain.OrderItem;
+import com.yash.fineshyttt.domain.OrderStatus;
+import com.yash.fineshyttt.domain.Product;
+import com.yash.fineshyttt.domain.ProductVariant;
+import com.yash.fineshyttt.dto.cart.CartResponse;
+import com.yash.fineshyttt.dto.order.OrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → response mapping on the cart and order endpoints
+ *
+ * - cartResponse: CartResponse.from (per-line subtotal, totals)
+ * - orderResponse: OrderResponse.from (per-line subtotal, final amount)
+ *
+ * Entities are built in memory (no persistence context), so the numbers
+ * are the mapping alone; lines = items per cart/order.
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.dto.ResponseMappingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private Cart cart;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        cart = Cart.builder().id(1L).sessionId("bench").build();
+        order = Order.builder()
+                .id(1L)
+                .status(OrderStatus.CREATED)
+                .shippingAddress(Address.builder().id(10L).build())
+                .billingAddress(Address.builder().id(11L).build())
+                .coupon(Coupon.builder().code("SAVE10").discountType(DiscountType.PERCENTAGE)
+                        .discountValue(BigDecimal.TEN).build())
+                .build();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            Product product = Product.builder().id((long) i).name("Linen Shirt " + i).slug("linen-shirt-" + i).build();
+            BigDecimal price = new BigDecimal("1499.00").add(BigDecimal.valueOf(i));
+            ProductVariant variant = ProductVariant.builder()
+                    .id(100L + i)
+                    .product(product)
+                    .sku("SKU-" + i)
+                    .size("M")
+                    .color("Blue")
+                    .price(price)
+                    .build();
+
+            cart.getItems().add(CartItem.builder()
+                    .id(1000L + i).cart(cart).variant(variant).quantity(2).unitPrice(price).build());
+            order.getItems().add(OrderItem.builder()
+                    .id(2000L + i).order(order).variant(variant).quantity(2).priceAtPurchase(price).build());
+            total = total.add(price.multiply(BigDecimal.TWO));
+        }
+
+        order.setTotalAmount(total);
+        order.setDiscountAmount(order.getCoupon().discountFor(total));
+    }
+
+    @Benchmark
+    public CartResponse cartResponse() {
+        return CartResponse.from(cart);
+    }
+
+    @Benchmark
+    public OrderResponse orderResponse() {
+        return OrderResponse.from(order);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResponseMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
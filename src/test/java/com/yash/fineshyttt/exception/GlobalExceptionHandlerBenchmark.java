@@ -0,0 +1,106 @@
+package com.yash.fineshyttt.exception;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response building in GlobalExceptionHandler
+ *
+ * - notFound: 404 from ResourceNotFoundException
+ * - illegalArgument: 400 from IllegalArgumentException
+ * - validation: 400 from MethodArgumentNotValidException with 3 field errors
+ *   (ValidationError list)
+ *
+ * Exceptions are created once: stack trace capture happens where they are
+ * thrown, not in the handler. The handler's logger is switched off, since
+ * appender cost depends on the deployment, not on this code.
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.exception.GlobalExceptionHandlerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/register");
+
+    private final ResourceNotFoundException notFound = new ResourceNotFoundException("Product not found");
+    private final IllegalArgumentException illegalArgument = new IllegalArgumentException("Quantity must be positive");
+    private MethodArgumentNotValidException validation;
+
+    @SuppressWarnings("unused")
+    private void register(Object body) {
+        // Target of the MethodParameter below
+    }
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+
+        request.addHeader("X-Request-ID", "bench-request");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "registerRequest");
+        bindingResult.addError(new FieldError("registerRequest", "email", "not-an-email",
+                false, null, null, "must be a well-formed email address"));
+        bindingResult.addError(new FieldError("registerRequest", "password", "",
+                false, null, null, "size must be between 8 and 72"));
+        bindingResult.addError(new FieldError("registerRequest", "firstName", null,
+                false, null, null, "must not be blank"));
+
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("register", Object.class), 0);
+        validation = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleNotFound(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> illegalArgument() {
+        return handler.handleIllegalArgument(illegalArgument, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validation() {
+        return handler.handleValidation(validation, request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GlobalExceptionHandlerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,151 @@
+package com.yash.fineshyttt.load;
+
+import com.yash.fineshyttt.domain.*;
+import com.yash.fineshyttt.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the catalog and customers the load test drives
+ *
+ * - users customers, each with one shipping address (used as billing too)
+ * - products active products in 10 categories, variantsPerProduct
+ *   variants each, with stock that checkout cannot exhaust
+ *
+ * All users share one password hash: seeding N users must not cost N
+ * BCrypt rounds. Rows are written in chunks, one transaction per chunk.
+ */
+@RequiredArgsConstructor
+@Slf4j
+class LoadDataSeeder {
+
+    static final String PASSWORD = "Load@12345";
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int CATEGORIES = 10;
+    private static final String[] COLORS = {"Black", "White", "Blue", "Olive", "Rust"};
+    private static final String[] SIZES = {"S", "M", "L", "XL"};
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final AddressRepository addressRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final InventoryRepository inventoryRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    record Customer(String email, long addressId) {}
+
+    record LoadData(List<Customer> customers, List<String> productSlugs, List<Long> variantIds) {}
+
+    LoadData seed(int users, int products, int variantsPerProduct) {
+        long start = System.nanoTime();
+
+        List<Customer> customers = seedCustomers(users);
+        List<String> slugs = new ArrayList<>(products);
+        List<Long> variantIds = new ArrayList<>(products * variantsPerProduct);
+        seedCatalog(products, variantsPerProduct, slugs, variantIds);
+
+        log.info("Seeded {} users, {} products, {} variants in {} ms",
+                customers.size(), slugs.size(), variantIds.size(), (System.nanoTime() - start) / 1_000_000);
+        return new LoadData(customers, slugs, variantIds);
+    }
+
+    private List<Customer> seedCustomers(int users) {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<Customer> customers = new ArrayList<>(users);
+
+        for (int from = 0; from < users; from += CHUNK_SIZE) {
+            int first = from;
+            int last = Math.min(from + CHUNK_SIZE, users);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Role userRole = roleRepository.findByName("USER")
+                        .orElseGet(() -> roleRepository.save(new Role("USER")));
+
+                for (int i = first; i < last; i++) {
+                    User user = new User("load-user-" + i + "@example.com", passwordHash);
+                    user.setEmailVerified(true);
+                    user.getRoles().add(userRole);
+                    userRepository.save(user);
+
+                    Address address = addressRepository.save(Address.builder()
+                            .user(user)
+                            .addressType(AddressType.SHIPPING)
+                            .fullName("Load User " + i)
+                            .phoneNumber("9000000000")
+                            .addressLine1(i + " Load Street")
+                            .city("Pune")
+                            .state("MH")
+                            .postalCode("411001")
+                            .country("IN")
+                            .isDefault(true)
+                            .build());
+
+                    customers.add(new Customer(user.getEmail(), address.getId()));
+                }
+            });
+        }
+
+        return customers;
+    }
+
+    private void seedCatalog(int products, int variantsPerProduct, List<String> slugs, List<Long> variantIds) {
+        List<Category> categories = transactionTemplate.execute(status -> {
+            List<Category> created = new ArrayList<>(CATEGORIES);
+            for (int c = 0; c < CATEGORIES; c++) {
+                created.add(categoryRepository.save(Category.builder()
+                        .name("Load Category " + c)
+                        .isActive(true)
+                        .build()));
+            }
+            return created;
+        });
+
+        for (int from = 0; from < products; from += CHUNK_SIZE) {
+            int first = from;
+            int last = Math.min(from + CHUNK_SIZE, products);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int p = first; p < last; p++) {
+                    Product product = productRepository.save(Product.builder()
+                            .name("Load Product " + p)
+                            .slug("load-product-" + p)
+                            .description("Seeded by the load test")
+                            .category(categories.get(p % CATEGORIES))
+                            .isActive(true)
+                            .build());
+                    slugs.add(product.getSlug());
+
+                    for (int v = 0; v < variantsPerProduct; v++) {
+                        ProductVariant variant = variantRepository.save(ProductVariant.builder()
+                                .product(product)
+                                .sku("LOAD-" + p + "-" + v)
+                                .material("Cotton")
+                                .color(COLORS[v % COLORS.length])
+                                .size(SIZES[v % SIZES.length])
+                                .price(BigDecimal.valueOf(499 + (p * 37L + v * 100L) % 4500))
+                                .isActive(true)
+                                .build());
+
+                        inventoryRepository.save(Inventory.builder()
+                                .variant(variant)
+                                .quantity(10_000_000)
+                                .reservedQuantity(0)
+                                .build());
+
+                        variantIds.add(variant.getId());
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.yash.fineshyttt.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error recording per load test step
+ *
+ * Latencies go to one HdrHistogram Recorder per step (microseconds, 3
+ * significant digits), so the warmup can be cut off without stopping the
+ * clients: startMeasurement() discards the warmup interval and
+ * finish() takes the measured one.
+ *
+ * Output:
+ * - Summary table: requests, errors, throughput, p50/p90/p99/p99.9/max
+ * - One <step>.hgrm percentile distribution per step (HdrHistogram format,
+ *   plottable with the HdrHistogram plotter)
+ * - SQL statements per request by route (SqlStatementsPerRouteFilter)
+ */
+class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private record Step(Recorder recorder, LongAdder errors, Map<Integer, LongAdder> statuses) {}
+
+    record StepResult(String name, Histogram latencies, long errors, Map<Integer, Long> errorStatuses) {}
+
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private volatile long measurementStart;
+
+    void record(String step, long startNanos, int status) {
+        Step recorded = steps.computeIfAbsent(step,
+                key -> new Step(new Recorder(HIGHEST_TRACKABLE_MICROS, 3), new LongAdder(), new ConcurrentHashMap<>()));
+
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), HIGHEST_TRACKABLE_MICROS);
+        recorded.recorder().recordValue(micros);
+
+        if (status < 200 || status >= 300) {
+            recorded.errors().increment();
+            recorded.statuses().computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    void startMeasurement() {
+        steps.values().forEach(step -> {
+            step.recorder().getIntervalHistogram();
+            step.errors().reset();
+            step.statuses().clear();
+        });
+        measurementStart = System.nanoTime();
+    }
+
+    Map<String, StepResult> finish() {
+        Map<String, StepResult> results = new TreeMap<>();
+        steps.forEach((name, step) -> {
+            Map<Integer, Long> statuses = new TreeMap<>();
+            step.statuses().forEach((status, count) -> statuses.put(status, count.sum()));
+            results.put(name, new StepResult(name, step.recorder().getIntervalHistogram(), step.errors().sum(), statuses));
+        });
+        return results;
+    }
+
+    Duration measuredFor() {
+        return Duration.ofNanos(System.nanoTime() - measurementStart);
+    }
+
+    static void print(
+            PrintStream out,
+            Map<String, StepResult> results,
+            Duration window,
+            Map<String, SqlStatementsPerRouteFilter.RouteStatements> statements
+    ) {
+        double seconds = window.toNanos() / 1e9;
+        long totalRequests = 0;
+        long totalErrors = 0;
+
+        out.println();
+        out.printf("Load test results (%.1f s measured)%n", seconds);
+        out.printf("%-18s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "step", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (StepResult result : results.values()) {
+            Histogram h = result.latencies();
+            totalRequests += h.getTotalCount();
+            totalErrors += result.errors();
+            out.printf("%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%s%n",
+                    result.name(), h.getTotalCount(), result.errors(), h.getTotalCount() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()),
+                    result.errorStatuses().isEmpty() ? "" : "  statuses " + result.errorStatuses());
+        }
+        out.printf("%-18s %9d %7d %9.1f%n", "total", totalRequests, totalErrors, totalRequests / seconds);
+
+        out.println();
+        out.printf("%-45s %9s %12s %5s%n", "route", "requests", "stmts/req", "max");
+        statements.forEach((route, stats) -> out.printf("%-45s %9d %12.2f %5d%n",
+                route, stats.requests(), stats.perRequest(), stats.max()));
+        out.println();
+    }
+
+    static void writeHistograms(Path directory, Map<String, StepResult> results) throws IOException {
+        Files.createDirectories(directory);
+        for (StepResult result : results.values()) {
+            try (PrintStream out = new PrintStream(directory.resolve(result.name() + ".hgrm").toFile())) {
+                // Microsecond values, reported in milliseconds
+                result.latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
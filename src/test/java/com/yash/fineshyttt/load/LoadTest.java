@@ -0,0 +1,170 @@
+package com.yash.fineshyttt.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yash.fineshyttt.repository.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the full application on a real HTTP port, driven
+ * by virtual-thread clients (VirtualUser) with a browse / cart / checkout /
+ * refresh mix, against embedded PostgreSQL (LoadTestEnvironment)
+ *
+ * Run:
+ *   mvn -Pload test
+ *   mvn -Pload test -Dload.clients=200 -Dload.duration=PT5M
+ *
+ * Options (system properties):
+ * - load.users (500), load.products (1000), load.variants (4): seeded data
+ * - load.clients (64): concurrent virtual-thread clients
+ * - load.warmup (PT15S), load.duration (PT60S): warmup is not recorded
+ * - load.database (postgres | h2)
+ * - load.max-error-rate (0.01): the test fails above it
+ *
+ * Reports throughput and latency percentiles per step, Hibernate statements
+ * per request by route, and writes target/load/<timestamp>/ with the
+ * summary and one HdrHistogram .hgrm file per step.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load")
+@Import(LoadTest.LoadTestConfig.class)
+class LoadTest {
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        SqlStatementsPerRouteFilter sqlStatementsPerRouteFilter() {
+            return new SqlStatementsPerRouteFilter();
+        }
+
+        @Bean
+        FilterRegistrationBean<SqlStatementsPerRouteFilter> sqlStatementsPerRouteRegistration(
+                SqlStatementsPerRouteFilter filter
+        ) {
+            FilterRegistrationBean<SqlStatementsPerRouteFilter> registration = new FilterRegistrationBean<>(filter);
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @DynamicPropertySource
+    static void loadEnvironment(DynamicPropertyRegistry registry) {
+        LoadTestEnvironment.register(registry);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ProductVariantRepository variantRepository;
+    @Autowired private InventoryRepository inventoryRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private SqlStatementsPerRouteFilter statementsPerRoute;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        int clients = Integer.getInteger("load.clients", 64);
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT60S"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+        LoadDataSeeder.LoadData data = new LoadDataSeeder(
+                userRepository, roleRepository, addressRepository, categoryRepository, productRepository,
+                variantRepository, inventoryRepository, passwordEncoder, new TransactionTemplate(transactionManager)
+        ).seed(
+                Integer.getInteger("load.users", 500),
+                Integer.getInteger("load.products", 1000),
+                Integer.getInteger("load.variants", 4)
+        );
+
+        LoadReport report = new LoadReport();
+        URI baseUri = URI.create("http://localhost:" + port);
+        long deadline = System.nanoTime() + warmup.plus(duration).toNanos();
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService httpThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(httpThreads)
+                     .build()) {
+
+            List<Future<?>> running = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                running.add(clientThreads.submit(new VirtualUser(http, baseUri, objectMapper, report, data, i,
+                        () -> System.nanoTime() < deadline)));
+            }
+
+            Thread.sleep(warmup.toMillis());
+            report.startMeasurement();
+            statementsPerRoute.reset();
+
+            for (Future<?> client : running) {
+                client.get(duration.toSeconds() + 60, TimeUnit.SECONDS);
+            }
+        }
+
+        Duration measured = report.measuredFor();
+        Map<String, LoadReport.StepResult> results = report.finish();
+        Map<String, SqlStatementsPerRouteFilter.RouteStatements> statements = statementsPerRoute.snapshot();
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        LoadReport.print(new PrintStream(summary, true, StandardCharsets.UTF_8), results, measured, statements);
+        System.out.print(summary.toString(StandardCharsets.UTF_8));
+
+        Path output = Path.of("target", "load", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        LoadReport.writeHistograms(output, results);
+        Files.write(output.resolve("summary.txt"), summary.toByteArray());
+
+        long requests = results.values().stream().mapToLong(result -> result.latencies().getTotalCount()).sum();
+        long errors = results.values().stream().mapToLong(LoadReport.StepResult::errors).sum();
+
+        assertThat(results).containsKeys("catalog.list", "catalog.product", "cart.add", "orders.checkout", "auth.refresh");
+        assertThat(requests).isPositive();
+        assertThat((double) errors / requests)
+                .as("error rate, see %s", output.resolve("summary.txt"))
+                .isLessThanOrEqualTo(maxErrorRate);
+    }
+}
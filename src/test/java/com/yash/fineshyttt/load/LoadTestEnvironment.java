@@ -0,0 +1,75 @@
+package com.yash.fineshyttt.load;
+
+import com.yash.fineshyttt.support.TestJwtKeys;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+
+/**
+ * Database and JWT keys for the load test, started once per JVM
+ *
+ * Database (load.database):
+ * - postgres (default): embedded PostgreSQL binaries started from the test
+ *   JVM, no Docker; the schema comes from the Flyway migrations
+ * - h2: H2 in PostgreSQL mode, schema generated by Hibernate. Also used when
+ *   the embedded server cannot start (unsupported platform). Numbers are
+ *   not comparable with PostgreSQL; useful to exercise the harness
+ *
+ * JWT keys: TestJwtKeys (the real keys are not in the repository).
+ */
+@Slf4j
+final class LoadTestEnvironment {
+
+    private static EmbeddedPostgres postgres;
+
+    private LoadTestEnvironment() {
+    }
+
+    static synchronized void register(DynamicPropertyRegistry registry) {
+        registerDatabase(registry);
+        TestJwtKeys.register(registry);
+    }
+
+    private static void registerDatabase(DynamicPropertyRegistry registry) {
+        if (!"h2".equalsIgnoreCase(System.getProperty("load.database", "postgres")) && startPostgres()) {
+            String url = postgres.getJdbcUrl("postgres", "postgres");
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> "postgres");
+            registry.add("spring.datasource.password", () -> "postgres");
+            return;
+        }
+
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:mem:load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("cache.invalidation.mode", () -> "local");
+    }
+
+    private static boolean startPostgres() {
+        if (postgres != null) {
+            return true;
+        }
+        try {
+            postgres = EmbeddedPostgres.builder()
+                    .setServerConfig("max_connections", "200")
+                    .start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ex) {
+                    log.warn("Embedded PostgreSQL shutdown failed: {}", ex.getMessage());
+                }
+            }));
+            log.info("Embedded PostgreSQL started on port {}", postgres.getPort());
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Embedded PostgreSQL unavailable ({}), falling back to H2 in PostgreSQL mode", ex.getMessage());
+            return false;
+        }
+    }
+}
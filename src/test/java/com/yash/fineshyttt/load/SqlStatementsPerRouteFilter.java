@@ -0,0 +1,75 @@
+package com.yash.fineshyttt.load;
+
+import com.yash.fineshyttt.support.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hibernate statements per request, aggregated by route ("GET /api/v1/cart")
+ *
+ * Registered first in the chain, so statements issued by security filters
+ * (principal loading) count towards the request.
+ */
+class SqlStatementsPerRouteFilter extends OncePerRequestFilter {
+
+    record RouteStatements(long requests, long statements, int max) {
+        double perRequest() {
+            return requests == 0 ? 0 : (double) statements / requests;
+        }
+    }
+
+    private static final class Stats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final AtomicInteger max = new AtomicInteger();
+    }
+
+    private final Map<String, Stats> routes = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.count();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+            Stats stats = routes.computeIfAbsent(route, key -> new Stats());
+            stats.requests.increment();
+            stats.statements.add(statements);
+            stats.max.accumulateAndGet(statements, Math::max);
+        }
+    }
+
+    /**
+     * Drop everything recorded so far (end of warmup).
+     */
+    void reset() {
+        routes.clear();
+    }
+
+    Map<String, RouteStatements> snapshot() {
+        Map<String, RouteStatements> snapshot = new TreeMap<>();
+        routes.forEach((route, stats) -> snapshot.put(route,
+                new RouteStatements(stats.requests.sum(), stats.statements.sum(), stats.max.get())));
+        return snapshot;
+    }
+}
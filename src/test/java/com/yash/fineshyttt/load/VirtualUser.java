@@ -0,0 +1,217 @@
+package com.yash.fineshyttt.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One simulated customer, run on its own virtual thread
+ *
+ * Logs in once, then picks a scenario per iteration until stopped:
+ *
+ * | scenario    | weight | requests                                   |
+ * |-------------|--------|--------------------------------------------|
+ * | browse      | 60     | product page, product detail               |
+ * | add to cart | 25     | add a random variant                       |
+ * | checkout    | 10     | get cart (add an item if empty), checkout  |
+ * | refresh     | 5      | rotate the refresh token                   |
+ *
+ * No think time: each client is a closed loop, so the client count sets
+ * the concurrency. Every request is timed under its step name; transport
+ * failures are recorded with status -1. A 401 logs the client in again.
+ */
+class VirtualUser implements Runnable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 20;
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final LoadReport report;
+    private final LoadDataSeeder.LoadData data;
+    private final LoadDataSeeder.Customer customer;
+    private final String deviceFingerprint;
+    private final BooleanSupplier running;
+
+    private String accessToken;
+    private String refreshToken;
+
+    VirtualUser(
+            HttpClient http,
+            URI baseUri,
+            ObjectMapper objectMapper,
+            LoadReport report,
+            LoadDataSeeder.LoadData data,
+            int index,
+            BooleanSupplier running
+    ) {
+        this.http = http;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.report = report;
+        this.data = data;
+        this.customer = data.customers().get(index % data.customers().size());
+        this.deviceFingerprint = "load-client-" + index;
+        this.running = running;
+    }
+
+    @Override
+    public void run() {
+        try {
+            login();
+            while (running.getAsBoolean()) {
+                int roll = ThreadLocalRandom.current().nextInt(100);
+                if (roll < 60) {
+                    browse();
+                } else if (roll < 85) {
+                    addToCart();
+                } else if (roll < 95) {
+                    checkout();
+                } else {
+                    refresh();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void login() throws InterruptedException {
+        JsonNode tokens = body(send("auth.login", post("/api/v1/auth/login", Map.of(
+                "email", customer.email(),
+                "password", LoadDataSeeder.PASSWORD,
+                "deviceFingerprint", deviceFingerprint
+        ), false)));
+        if (tokens != null) {
+            accessToken = tokens.path("accessToken").asText();
+            refreshToken = tokens.path("refreshToken").asText();
+        }
+    }
+
+    private void browse() throws InterruptedException {
+        int pages = Math.max(1, data.productSlugs().size() / PAGE_SIZE);
+        int page = ThreadLocalRandom.current().nextInt(pages);
+        send("catalog.list", get("/api/v1/products?page=" + page + "&size=" + PAGE_SIZE, false));
+
+        send("catalog.product", get("/api/v1/products/" + random(data.productSlugs()), false));
+    }
+
+    private void addToCart() throws InterruptedException {
+        authenticated("cart.add", () -> post("/api/v1/cart/items", Map.of(
+                "variantId", random(data.variantIds()),
+                "quantity", 1
+        ), true));
+    }
+
+    private void checkout() throws InterruptedException {
+        JsonNode cart = body(authenticated("cart.get", () -> get("/api/v1/cart", true)));
+        if (cart == null) {
+            return;
+        }
+        if (cart.path("items").isEmpty()) {
+            cart = body(authenticated("cart.add", () -> post("/api/v1/cart/items", Map.of(
+                    "variantId", random(data.variantIds()),
+                    "quantity", 1
+            ), true)));
+            if (cart == null) {
+                return;
+            }
+        }
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("shippingAddressId", customer.addressId());
+        request.put("billingAddressId", customer.addressId());
+        request.put("priceVersion", cart.path("priceVersion").asLong());
+        authenticated("orders.checkout", () -> post("/api/v1/orders/checkout", request, true));
+    }
+
+    private void refresh() throws InterruptedException {
+        HttpResponse<String> response = send("auth.refresh",
+                post("/api/v1/auth/refresh", Map.of("refreshToken", refreshToken), false));
+
+        JsonNode tokens = body(response);
+        if (tokens != null) {
+            accessToken = tokens.path("accessToken").asText();
+            refreshToken = tokens.path("refreshToken").asText();
+        } else if (response != null && response.statusCode() == 401) {
+            login();
+        }
+    }
+
+    private interface RequestFactory {
+        HttpRequest create();
+    }
+
+    /**
+     * Send with the current access token; on 401 log in again for the next call.
+     */
+    private HttpResponse<String> authenticated(String step, RequestFactory request) throws InterruptedException {
+        HttpResponse<String> response = send(step, request.create());
+        if (response != null && response.statusCode() == 401) {
+            login();
+        }
+        return response;
+    }
+
+    private HttpResponse<String> send(String step, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            report.record(step, start, response.statusCode());
+            return response;
+        } catch (IOException ex) {
+            report.record(step, start, -1);
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, boolean authenticated) {
+        return builder(path, authenticated).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, ?> body, boolean authenticated) {
+        try {
+            return builder(path, authenticated)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private HttpRequest.Builder builder(String path, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (authenticated && accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private JsonNode body(HttpResponse<String> response) {
+        if (response == null || response.statusCode() < 200 || response.statusCode() >= 300) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
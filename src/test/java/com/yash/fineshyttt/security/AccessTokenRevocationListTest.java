@@ -0,0 +1,117 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.repository.UserRepository;
+import com.yash.fineshyttt.service.cache.CacheInvalidationBus;
+import com.yash.fineshyttt.service.cache.LocalCacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class AccessTokenRevocationListTest {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final CacheInvalidationBus bus = new LocalCacheInvalidationBus();
+
+    private AccessTokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new AccessTokenRevocationList(
+                userRepository, bus, new JwtProperties(), new SimpleMeterRegistry(), 1 << 16
+        );
+    }
+
+    @Test
+    void shouldRejectOnlyTokensIssuedBeforeRevocation() {
+        revocationList.record(7L, 3L, Instant.now());
+
+        assertThat(revocationList.isRevoked(7L, 0L)).isTrue();
+        assertThat(revocationList.isRevoked(7L, 2L)).isTrue();
+        assertThat(revocationList.isRevoked(7L, 3L)).isFalse();
+        assertThat(revocationList.isRevoked(8L, 0L)).isFalse();
+    }
+
+    @Test
+    void shouldNeverLowerMinimumGeneration() {
+        revocationList.record(7L, 5L, Instant.now());
+        revocationList.record(7L, 4L, Instant.now());
+
+        assertThat(revocationList.isRevoked(7L, 4L)).isTrue();
+    }
+
+    @Test
+    void shouldRebuildFromDatabase() {
+        Mockito.when(userRepository.findByTokensRevokedAtAfter(any()))
+                .thenReturn(List.of(revocation(11L, 2L, Instant.now())));
+
+        revocationList.rebuild();
+
+        assertThat(revocationList.isRevoked(11L, 1L)).isTrue();
+        assertThat(revocationList.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadUserWhenRevocationIsBroadcast() {
+        Mockito.when(userRepository.findRevocationByIdAndTokensRevokedAtAfter(eq(21L), any()))
+                .thenReturn(Optional.of(revocation(21L, 1L, Instant.now())));
+
+        assertThat(revocationList.isRevoked(21L, 0L)).isFalse();
+
+        bus.publish(CacheInvalidationBus.USER, 21L);
+
+        assertThat(revocationList.isRevoked(21L, 0L)).isTrue();
+        assertThat(revocationList.isRevoked(21L, 1L)).isFalse();
+    }
+
+    @Test
+    void shouldPruneRevocationsOlderThanTokenLifetime() {
+        revocationList.record(7L, 1L, Instant.now().minus(Duration.ofHours(1)));
+        revocationList.record(8L, 1L, Instant.now());
+
+        revocationList.maintain();
+
+        assertThat(revocationList.isRevoked(7L, 0L)).isFalse();
+        assertThat(revocationList.isRevoked(8L, 0L)).isTrue();
+    }
+
+    @Test
+    void bloomFilterShouldHaveNoFalseNegatives() {
+        AccessTokenRevocationList.BloomFilter filter = new AccessTokenRevocationList.BloomFilter(1 << 16);
+        for (long id = 1; id <= 5_000; id++) {
+            filter.add(id * 7919);
+        }
+
+        for (long id = 1; id <= 5_000; id++) {
+            assertThat(filter.mightContain(id * 7919)).isTrue();
+        }
+    }
+
+    private static UserRepository.TokenRevocation revocation(long id, long generation, Instant revokedAt) {
+        return new UserRepository.TokenRevocation() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getTokenGeneration() {
+                return generation;
+            }
+
+            @Override
+            public Instant getTokensRevokedAt() {
+                return revokedAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.BaseIntegrationTest;
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.repository.RoleRepository;
+import com.yash.fineshyttt.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpHeaders;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Actuator access (application-test.yml serves it on the application port;
+ * metrics export, and with it the prometheus endpoint, is off in tests
+ * unless observability is auto-configured)
+ */
+@AutoConfigureObservability(tracing = false)
+class ActuatorSecurityTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void shouldServeHealthToAnyone() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRequireScrapeCredentialForPrometheus() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer(user("customer@example.com"))))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "test-scrape-password")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRestrictMetricsToAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, bearer(user("customer@example.com"))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("prometheus", "test-scrape-password")))
+                .andExpect(status().isForbidden());
+
+        User admin = user("admin@example.com");
+        admin.getRoles().add(roleRepository.findByName("ADMIN").orElseThrow());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldNotCheckCustomerPasswordsOverBasicAuth() throws Exception {
+        userRepository.save(new User("basic@example.com", "{noop}Test@1234"));
+
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("basic@example.com", "Test@1234")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private User user(String email) {
+        return userRepository.save(new User(email, "unused"));
+    }
+}
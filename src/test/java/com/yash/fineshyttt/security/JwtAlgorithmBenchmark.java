@@ -0,0 +1,152 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.domain.Role;
+import com.yash.fineshyttt.domain.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign/verify cost per JWT algorithm on our token shape
+ *
+ * sign/verify go through JwtService with a token like the ones we issue
+ * (sub, jti, iat, exp, email, two roles, type).
+ *
+ * The raw JCA benchmarks sign/verify the same signing input without jjwt.
+ * They include Ed25519, which jjwt 0.11 cannot produce, so the gain from a
+ * jjwt 0.12 migration can be weighed.
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.security.JwtAlgorithmBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAlgorithmBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class JwtState {
+
+        @Param({"RS256", "ES256", "ES384"})
+        String algorithm;
+
+        JwtService jwtService;
+        User user;
+        String token;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            JwtAlgorithm jwtAlgorithm = JwtAlgorithm.valueOf(algorithm);
+            jwtService = new JwtService(keyPairFor(jwtAlgorithm), jwtAlgorithm, 15 * 60, 30);
+            user = tokenShapedUser();
+            token = jwtService.generateAccessToken(user);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class JcaState {
+
+        @Param({"SHA256withRSA", "SHA256withECDSA", "Ed25519"})
+        String signature;
+
+        KeyPair keyPair;
+        byte[] signingInput;
+        byte[] signed;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            keyPair = switch (signature) {
+                case "SHA256withRSA" -> keyPairFor(JwtAlgorithm.RS256);
+                case "SHA256withECDSA" -> keyPairFor(JwtAlgorithm.ES256);
+                default -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            };
+
+            // header.payload of a real token: the bytes every algorithm signs
+            String token = new JwtService(keyPairFor(JwtAlgorithm.RS256), JwtAlgorithm.RS256, 900, 30)
+                    .generateAccessToken(tokenShapedUser());
+            signingInput = token.substring(0, token.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+
+            Signature signer = Signature.getInstance(signature);
+            signer.initSign(keyPair.getPrivate());
+            signer.update(signingInput);
+            signed = signer.sign();
+        }
+    }
+
+    @Benchmark
+    public String sign(JwtState state) {
+        return state.jwtService.generateAccessToken(state.user);
+    }
+
+    @Benchmark
+    public Claims verify(JwtState state) {
+        return state.jwtService.parseAndValidate(state.token);
+    }
+
+    @Benchmark
+    public byte[] jcaSign(JcaState state) throws Exception {
+        Signature signer = Signature.getInstance(state.signature);
+        signer.initSign(state.keyPair.getPrivate());
+        signer.update(state.signingInput);
+        return signer.sign();
+    }
+
+    @Benchmark
+    public boolean jcaVerify(JcaState state) throws Exception {
+        Signature verifier = Signature.getInstance(state.signature);
+        verifier.initVerify(state.keyPair.getPublic());
+        verifier.update(state.signingInput);
+        return verifier.verify(state.signed);
+    }
+
+    private static KeyPair keyPairFor(JwtAlgorithm algorithm) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.keyFactoryAlgorithm());
+        switch (algorithm) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case ES384 -> generator.initialize(new ECGenParameterSpec("secp384r1"));
+        }
+        return generator.generateKeyPair();
+    }
+
+    private static User tokenShapedUser() {
+        User user = User.builder()
+                .id(123_456L)
+                .email("customer.name@example.com")
+                .passwordHash("unused")
+                .build();
+        user.getRoles().add(new Role("CUSTOMER"));
+        user.getRoles().add(new Role("SELLER"));
+        return user;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAlgorithmBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
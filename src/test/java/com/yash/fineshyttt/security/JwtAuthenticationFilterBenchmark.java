@@ -0,0 +1,142 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.repository.UserRepository;
+import com.yash.fineshyttt.service.cache.LocalCacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+
+/**
+ * JwtAuthenticationFilter throughput, before/after VerifiedTokenCache
+ *
+ * - verifyEveryRequest: cache disabled, i.e. the previous behaviour
+ *   (parser build + RS256 verification per request)
+ * - verifiedTokenCache: same filter, repeat token served from cache
+ * - claimsPrincipal: cached verification, principal built from claims
+ *   (principal-mode=CLAIMS) instead of the user cache lookup
+ *
+ * Both use the same access token on every call (a client reusing its token
+ * for its 15 minute lifetime). User loading and the token generation
+ * check are mocked so only the JWT path is measured. Keys are generated in memory (2048-bit RSA).
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.security.JwtAuthenticationFilterBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter claimsFilter;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JwtService jwtService = new JwtService(keyPair, JwtAlgorithm.RS256, 15 * 60, 30);
+
+        User user = User.builder()
+                .id(1L)
+                .email("bench@example.com")
+                .passwordHash("unused")
+                .build();
+
+        CachedUserDetailsService userDetailsService = Mockito.mock(CachedUserDetailsService.class);
+        Mockito.when(userDetailsService.loadUserById(anyLong())).thenReturn(new UserPrincipal(user));
+
+        JwtProperties entityMode = new JwtProperties();
+        JwtProperties claimsMode = new JwtProperties();
+        claimsMode.setPrincipalMode(PrincipalMode.CLAIMS);
+
+        // Real list (in-memory check), nobody revoked
+        AccessTokenRevocationList revocationList = new AccessTokenRevocationList(
+                Mockito.mock(UserRepository.class), new LocalCacheInvalidationBus(), entityMode,
+                new SimpleMeterRegistry(), 1 << 20
+        );
+
+        uncachedFilter = new JwtAuthenticationFilter(
+                jwtService, new VerifiedTokenCache(jwtService, false, 0), userDetailsService,
+                revocationList, entityMode
+        );
+        cachedFilter = new JwtAuthenticationFilter(
+                jwtService, new VerifiedTokenCache(jwtService, true, 50_000), userDetailsService,
+                revocationList, entityMode
+        );
+        claimsFilter = new JwtAuthenticationFilter(
+                jwtService, new VerifiedTokenCache(jwtService, true, 50_000), userDetailsService,
+                revocationList, claimsMode
+        );
+
+        authorization = "Bearer " + jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse verifyEveryRequest() throws Exception {
+        return run(uncachedFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse verifiedTokenCache() throws Exception {
+        return run(cachedFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse claimsPrincipal() throws Exception {
+        return run(claimsFilter);
+    }
+
+    private MockHttpServletResponse run(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/cart");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
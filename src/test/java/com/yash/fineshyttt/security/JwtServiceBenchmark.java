@@ -0,0 +1,102 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService issue/verify throughput and allocation per operation
+ *
+ * - issue: generateAccessToken (shared serializer, counter-based jti)
+ * - verify: parseAndValidate on the pre-built parser
+ * - verifyRebuildingParser: previous behaviour, parserBuilder() per call
+ * - randomUuidJti: cost of the previous jti source alone, for comparison
+ *
+ * Allocation per operation is reported by the GC profiler
+ * (gc.alloc.rate.norm, bytes/op).
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.security.JwtServiceBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private KeyPair keyPair;
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        jwtService = new JwtService(keyPair, JwtAlgorithm.RS256, 15 * 60, 30);
+        user = User.builder()
+                .id(42L)
+                .email("bench@example.com")
+                .passwordHash("unused")
+                .build();
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public Claims verifyRebuildingParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(keyPair.getPublic())
+                .setAllowedClockSkewSeconds(30)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public String randomUuidJti() {
+        return UUID.randomUUID().toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
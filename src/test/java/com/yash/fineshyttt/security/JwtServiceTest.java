@@ -0,0 +1,124 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.domain.Role;
+import com.yash.fineshyttt.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static JwtService jwtService;
+    private static User user;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        jwtService = new JwtService(keyPair, JwtAlgorithm.RS256, 15 * 60, 30);
+        user = User.builder()
+                .id(7L)
+                .email("jwt@example.com")
+                .passwordHash("unused")
+                .build();
+    }
+
+    @Test
+    void shouldVerifyIssuedTokenWithSharedParser() {
+        Claims claims = jwtService.parseAndValidate(jwtService.generateAccessToken(user));
+
+        assertThat(claims.getSubject()).isEqualTo("7");
+        assertThat(claims.get("email", String.class)).isEqualTo("jwt@example.com");
+        assertThat(jwtService.extractTokenGeneration(claims)).isZero();
+        jwtService.validateAccessToken(claims);
+    }
+
+    @Test
+    void shouldIssueUniqueTokenIds() {
+        String first = jwtService.parseAndValidate(jwtService.generateAccessToken(user)).getId();
+        String second = jwtService.parseAndValidate(jwtService.generateAccessToken(user)).getId();
+
+        assertThat(first).isNotBlank().isNotEqualTo(second);
+    }
+
+    @Test
+    void shouldIssueAndVerifyEs256Tokens() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        JwtService es256 = new JwtService(generator.generateKeyPair(), JwtAlgorithm.ES256, 15 * 60, 30);
+
+        String token = es256.generateAccessToken(user);
+
+        assertThat(es256.parseAndValidate(token).getSubject()).isEqualTo("7");
+        assertThatThrownBy(() -> jwtService.parseAndValidate(token))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldKeepVerifyingOldTokensAfterSigningKeySwitch() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair first = generator.generateKeyPair();
+        KeyPair second = generator.generateKeyPair();
+
+        JwtKeyRing keyRing = new JwtKeyRing(List.of(
+                new JwtKey("k1", JwtAlgorithm.RS256, first.getPrivate(), first.getPublic()),
+                new JwtKey("k2", JwtAlgorithm.RS256, second.getPrivate(), second.getPublic())
+        ), "k1");
+        JwtService rotating = new JwtService(keyRing, 15 * 60, 30);
+
+        String oldToken = rotating.generateAccessToken(user);
+        keyRing.activate("k2");
+        String newToken = rotating.generateAccessToken(user);
+
+        assertThat(rotating.parseAndValidate(oldToken).getSubject()).isEqualTo("7");
+        assertThat(rotating.parseAndValidate(newToken).getSubject()).isEqualTo("7");
+        assertThat(keyRing.jwks().get("keys")).asInstanceOf(InstanceOfAssertFactories.LIST).hasSize(2);
+
+        // Token signed by a key outside the ring
+        assertThatThrownBy(() -> rotating.parseAndValidate(jwtService.generateAccessToken(user)))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldBuildClaimsPrincipalWithoutLoadingUser() {
+        User revoked = User.builder()
+                .id(9L)
+                .email("claims@example.com")
+                .passwordHash("unused")
+                .build();
+        revoked.getRoles().add(new Role("ADMIN"));
+        revoked.revokeAccessTokens();
+
+        Claims claims = jwtService.parseAndValidate(jwtService.generateAccessToken(revoked));
+        UserPrincipal principal = UserPrincipal.fromClaims(claims, id -> {
+            throw new AssertionError("User must not be loaded");
+        });
+
+        assertThat(jwtService.extractTokenGeneration(claims)).isEqualTo(1L);
+        assertThat(principal.userId()).isEqualTo(9L);
+        assertThat(principal.getUsername()).isEqualTo("claims@example.com");
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = jwtService.generateAccessToken(user);
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThatThrownBy(() -> jwtService.parseAndValidate(tampered))
+                .isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /** Blocks every hash until released, so the pool can be saturated on demand. */
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    };
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() {
+        executor = new PasswordHashingExecutor(slowEncoder, registry, 1, 1, Duration.ofSeconds(10));
+
+        // One hashing, one queued: capacity exhausted
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.matches("a", "hash:a"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.matches("b", "hash:b"));
+        waitForQueued(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> executor.matches("c", "hash:c"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(registry.counter("auth.password.hash.rejected").count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isTrue();
+    }
+
+    @Test
+    void shouldShedCallerThatWaitsPastTimeout() {
+        executor = new PasswordHashingExecutor(slowEncoder, registry, 1, 4, Duration.ofMillis(100));
+
+        assertThatThrownBy(() -> executor.encode("secret"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void shouldHashOffTheCallingThread() {
+        release.countDown();
+        executor = new PasswordHashingExecutor(slowEncoder, registry, 2, 4, Duration.ofSeconds(5));
+
+        assertThat(executor.encode("secret")).isEqualTo("hash:secret");
+        assertThat(executor.matches("secret", "hash:secret")).isTrue();
+        assertThat(registry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    private void waitForQueued(int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("auth.password.hash.queue").gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Hashing queue never filled");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
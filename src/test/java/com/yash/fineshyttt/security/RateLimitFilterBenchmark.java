@@ -0,0 +1,79 @@
+package com.yash.fineshyttt.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limiter under concurrent load
+ *
+ * - manyClients: 16 threads, keys spread over 100k clients (typical traffic)
+ * - singleHotClient: 16 threads hammering one key (worst-case CAS contention,
+ *   mostly rejections once the bucket drains)
+ * - resolveGroup: route group lookup from the request path
+ *
+ * Expect tens of nanoseconds per operation and 0 B/op
+ * (gc.alloc.rate.norm from the GC profiler).
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.security.RateLimitFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final int CLIENTS = 100_000;
+
+    private TokenBucketLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter(120, Duration.ofMinutes(1), 16384);
+    }
+
+    @Benchmark
+    public long manyClients() {
+        long key = ThreadLocalRandom.current().nextInt(CLIENTS);
+        return limiter.tryAcquire(key);
+    }
+
+    @Benchmark
+    public long singleHotClient() {
+        return limiter.tryAcquire(42L);
+    }
+
+    @Benchmark
+    public RateLimitFilter.RouteGroup resolveGroup() {
+        return RateLimitFilter.resolveGroup("/api/v1/cart/items");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,202 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.BaseIntegrationTest;
+import com.yash.fineshyttt.config.ApiConstants;
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.repository.UserRepository;
+import jakarta.servlet.Filter;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rate limiting through the full filter chain, with tiny buckets that do
+ * not refill within a test
+ *
+ * Buckets live as long as the context, so every test uses its own client
+ * addresses and users.
+ */
+@TestPropertySource(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.auth.capacity=2",
+        "rate-limit.auth.period=1h",
+        "rate-limit.catalog.capacity=3",
+        "rate-limit.catalog.period=1h",
+        "rate-limit.admin.capacity=2",
+        "rate-limit.admin.period=1h",
+        "rate-limit.api.capacity=2",
+        "rate-limit.api.period=1h"
+})
+class RateLimitFilterTest extends BaseIntegrationTest {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Test
+    void shouldLimitEachRouteGroupWithItsOwnBucket() throws Exception {
+        String ip = "10.0.1.1";
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(login(ip)).andExpect(status().is(notLimited()));
+        }
+        mockMvc.perform(login(ip)).andExpect(status().is(TOO_MANY_REQUESTS));
+
+        // Same client, other groups: untouched by the exhausted AUTH bucket
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(from(ip, get(ApiConstants.PRODUCTS_BASE))).andExpect(status().is(notLimited()));
+        }
+        mockMvc.perform(from(ip, get(ApiConstants.CATEGORIES_BASE))).andExpect(status().is(TOO_MANY_REQUESTS));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(from(ip, get(ApiConstants.CART_BASE))).andExpect(status().is(notLimited()));
+        }
+        mockMvc.perform(from(ip, get(ApiConstants.CART_BASE))).andExpect(status().is(TOO_MANY_REQUESTS));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(from(ip, get(ApiConstants.ADMIN_USERS))).andExpect(status().is(notLimited()));
+        }
+        mockMvc.perform(from(ip, get(ApiConstants.ADMIN_USERS))).andExpect(status().is(TOO_MANY_REQUESTS));
+
+        // Outside API_V1: never limited
+        mockMvc.perform(from(ip, get("/actuator/health"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldKeyAuthenticatedRequestsByUser() throws Exception {
+        User alice = user("alice-limited@example.com");
+        User bob = user("bob-limited@example.com");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(from("10.0.2.1", get(ApiConstants.CART_BASE)).header(HttpHeaders.AUTHORIZATION, bearer(alice)))
+                    .andExpect(status().isOk());
+        }
+        // Another address does not give the user a new bucket
+        mockMvc.perform(from("10.0.2.2", get(ApiConstants.CART_BASE)).header(HttpHeaders.AUTHORIZATION, bearer(alice)))
+                .andExpect(status().is(TOO_MANY_REQUESTS));
+
+        // Other clients behind the first address keep their own buckets
+        mockMvc.perform(from("10.0.2.1", get(ApiConstants.CART_BASE)).header(HttpHeaders.AUTHORIZATION, bearer(bob)))
+                .andExpect(status().isOk());
+        mockMvc.perform(from("10.0.2.1", get(ApiConstants.CART_BASE)))
+                .andExpect(status().is(notLimited()));
+    }
+
+    @Test
+    void shouldKeyAuthRequestsAndInvalidTokensByAddress() throws Exception {
+        User carol = user("carol-limited@example.com");
+
+        // A valid token does not move login off the address bucket
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(login("10.0.3.1").header(HttpHeaders.AUTHORIZATION, bearer(carol)))
+                    .andExpect(status().is(notLimited()));
+        }
+        mockMvc.perform(login("10.0.3.1")).andExpect(status().is(TOO_MANY_REQUESTS));
+
+        // A forged token is limited by address, whatever subject it claims
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(from("10.0.3.2", get(ApiConstants.CART_BASE)).header(HttpHeaders.AUTHORIZATION, "Bearer forged"))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(from("10.0.3.2", get(ApiConstants.CART_BASE)))
+                .andExpect(status().is(TOO_MANY_REQUESTS));
+        mockMvc.perform(from("10.0.3.2", get(ApiConstants.CART_BASE)).header(HttpHeaders.AUTHORIZATION, bearer(carol)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRejectWithRetryAfterAndErrorBody() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(login("10.0.4.1"));
+        }
+
+        String retryAfter = mockMvc.perform(login("10.0.4.1").header("X-Request-ID", "limited-request"))
+                .andExpect(status().is(TOO_MANY_REQUESTS))
+                .andExpect(jsonPath("$.status").value(TOO_MANY_REQUESTS))
+                .andExpect(jsonPath("$.error").value("TOO_MANY_REQUESTS"))
+                .andExpect(jsonPath("$.code").value("RATE_LIMITED"))
+                .andExpect(jsonPath("$.path").value(ApiConstants.AUTH_BASE + ApiConstants.AUTH_LOGIN))
+                .andExpect(jsonPath("$.requestId").value("limited-request"))
+                .andReturn().getResponse().getHeader(HttpHeaders.RETRY_AFTER);
+
+        // Capacity 2 per hour: the next token is up to 30 minutes away
+        assertThat(retryAfter).isNotNull();
+        assertThat(Long.parseLong(retryAfter)).isBetween(1L, 1800L);
+    }
+
+    @Test
+    void shouldRejectBeforeAuthentication() throws Exception {
+        List<Filter> filters = filterChainProxy.getFilterChains().stream()
+                .map(SecurityFilterChain::getFilters)
+                .filter(chain -> chain.stream().anyMatch(RateLimitFilter.class::isInstance))
+                .findFirst()
+                .orElseThrow();
+        int rateLimit = indexOf(filters, RateLimitFilter.class);
+        int jwt = indexOf(filters, JwtAuthenticationFilter.class);
+        assertThat(rateLimit).isLessThan(jwt);
+
+        User dave = user("dave-limited@example.com");
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(from("10.0.5.1", get(ApiConstants.CART_BASE)).header(HttpHeaders.AUTHORIZATION, bearer(dave)));
+        }
+
+        // No user lookup, no cart query: rejected before either filter reaches the database
+        performWithin(0, from("10.0.5.1", get(ApiConstants.CART_BASE)).header(HttpHeaders.AUTHORIZATION, bearer(dave)))
+                .andExpect(status().is(TOO_MANY_REQUESTS));
+        // And before the unauthenticated request is turned away
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(from("10.0.5.2", get(ApiConstants.CART_BASE)));
+        }
+        mockMvc.perform(from("10.0.5.2", get(ApiConstants.CART_BASE)))
+                .andExpect(status().is(TOO_MANY_REQUESTS));
+    }
+
+    private MockHttpServletRequestBuilder login(String ip) {
+        return from(ip, post(ApiConstants.AUTH_BASE + ApiConstants.AUTH_LOGIN))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@example.com\",\"password\":\"Wrong@1234\"}");
+    }
+
+    private static MockHttpServletRequestBuilder from(String ip, MockHttpServletRequestBuilder request) {
+        return request.with(mock -> {
+            mock.setRemoteAddr(ip);
+            return mock;
+        });
+    }
+
+    private static Matcher<Integer> notLimited() {
+        return not(TOO_MANY_REQUESTS);
+    }
+
+    private static int indexOf(List<Filter> filters, Class<? extends Filter> type) {
+        for (int i = 0; i < filters.size(); i++) {
+            if (type.isInstance(filters.get(i))) {
+                return i;
+            }
+        }
+        throw new AssertionError(type.getSimpleName() + " is not in the filter chain");
+    }
+
+    private User user(String email) {
+        return userRepository.save(new User(email, "unused"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.yash.fineshyttt.security;
+
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.service.UserService;
+import com.yash.fineshyttt.support.TestJwtKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User cache with read/write routing and a replica that lags
+ *
+ * The "replica" is a second H2 database holding a copy of the primary
+ * taken in setUp (replicated up to then). Changes after the copy exist on
+ * the primary only, while the lag monitor still reports the replica usable:
+ * a replica that is behind by less than max-lag.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "database.replica.enabled=true",
+        "database.replica.datasource.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "database.replica.datasource.username=sa",
+        "database.replica.datasource.password=",
+        "database.replica.lag-query=SELECT 0"
+})
+class ReplicaUserCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CachedUserDetailsService cachedUserDetailsService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @TempDir
+    private Path tempDir;
+
+    private String email;
+    private Long userId;
+
+    @DynamicPropertySource
+    static void jwtKeys(DynamicPropertyRegistry registry) {
+        TestJwtKeys.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        email = "replica-" + UUID.randomUUID() + "@example.com";
+        userService.registerCustomer(email, "Test@1234");
+        replicate();
+        userId = userService.findIdByEmail(email).orElseThrow();
+    }
+
+    @Test
+    void shouldNotCacheStalePrincipalFromLaggingReplica() {
+        assertThat(cachedUserDetailsService.loadUserById(userId).isEnabled()).isTrue();
+
+        // Commits on the primary and evicts the cached principal
+        userService.setEnabled(userId, false);
+
+        // The replica has not replayed it: read-only reads still see the account enabled
+        assertThat(userService.findById(userId).isEnabled()).isTrue();
+
+        // The reload after the eviction must not cache that for the TTL
+        assertThat(cachedUserDetailsService.loadUserById(userId).isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldNotCacheRevokedRoleFromLaggingReplica() {
+        assertThat(cachedUserDetailsService.loadUserById(userId).getAuthorities())
+                .extracting("authority").containsExactly("ROLE_USER");
+
+        userService.revokeRole(userId, "USER");
+
+        assertThat(cachedUserDetailsService.loadUserById(userId).getAuthorities()).isEmpty();
+    }
+
+    @Test
+    void shouldFindUserRegisteredAfterReplicaCopy() {
+        String newEmail = "new-" + email;
+        userService.registerCustomer(newEmail, "Test@1234");
+
+        User user = cachedUserDetailsService.loadUserByEmail(newEmail);
+
+        assertThat(user.getEmail()).isEqualTo(newEmail);
+    }
+
+    /**
+     * Replace the replica with a copy of the primary.
+     */
+    private void replicate() {
+        String script = tempDir.resolve("primary.sql").toString();
+        new JdbcTemplate(primary).execute("SCRIPT TO '" + script + "'");
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("RUNSCRIPT FROM '" + script + "'");
+    }
+}
@@ -0,0 +1,91 @@
+package com.yash.fineshyttt.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstThenRejectWithWaitTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, Duration.ofSeconds(5), 1024);
+        long now = 10 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(42L, now)).isZero();
+        }
+
+        // One token per second
+        assertThat(limiter.tryAcquire(42L, now)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire(42L, now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire(42L, now + SECOND)).isZero();
+        assertThat(limiter.tryAcquire(42L, now + SECOND)).isPositive();
+    }
+
+    @Test
+    void shouldRefillFullyAfterPeriodButNotBeyondCapacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(3), 1024);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(7L, SECOND);
+        }
+
+        long muchLater = 100 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(7L, muchLater)).isZero();
+        }
+        assertThat(limiter.tryAcquire(7L, muchLater)).isPositive();
+    }
+
+    @Test
+    void shouldKeepKeysIndependent() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofMinutes(1), 1024);
+
+        assertThat(limiter.tryAcquire(1L, SECOND)).isZero();
+        assertThat(limiter.tryAcquire(1L, SECOND)).isPositive();
+        assertThat(limiter.tryAcquire(2L, SECOND)).isZero();
+    }
+
+    @Test
+    void shouldNeverAdmitMoreThanCapacityUnderContention() throws Exception {
+        int capacity = 1000;
+        TokenBucketLimiter limiter = new TokenBucketLimiter(capacity, Duration.ofHours(1), 64);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire(99L) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // 8000 attempts within far less than one interval (3.6s)
+        assertThat(admitted.get()).isEqualTo(capacity);
+    }
+}
@@ -0,0 +1,34 @@
+package com.yash.fineshyttt.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenHasherTest {
+
+    private final TokenHasher tokenHasher = new TokenHasher();
+
+    @Test
+    void shouldMatchPlainSha256() throws Exception {
+        String ascii = UUID.randomUUID().toString();
+        String nonAscii = "tökén-" + ascii;
+        String long200 = "x".repeat(200);
+
+        for (String token : new String[]{ascii, nonAscii, long200, ""}) {
+            byte[] expected = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            assertThat(tokenHasher.hash(token)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldMatchKnownVector() {
+        assertThat(HexFormat.of().formatHex(tokenHasher.hash("abc")))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+}
@@ -0,0 +1,142 @@
+package com.yash.fineshyttt.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * flush() against in-memory H2
+ *
+ * H2's PostgreSQL mode accepts the UPDATE ... FROM (VALUES ...) statement,
+ * so both write paths run for real: the PostgreSQL one is forced on, the
+ * JDBC batch is what plain H2 gets.
+ */
+class LastLoginRecorderTest {
+
+    private static final Instant LOGIN = Instant.parse("2026-10-18T10:00:00Z");
+
+    @Test
+    void shouldWriteWithUpdateFromValues() {
+        JdbcTemplate jdbc = database(";MODE=PostgreSQL");
+        LastLoginRecorder recorder = recorder(jdbc, true);
+        // More than one 500-row chunk
+        for (long id = 1; id <= 600; id++) {
+            insertUser(jdbc, id, null);
+            recorder.record(id, LOGIN.plusSeconds(id));
+        }
+
+        assertThat(recorder.flush()).isEqualTo(600);
+
+        assertThat(lastLogin(jdbc, 1)).isEqualTo(LOGIN.plusSeconds(1));
+        assertThat(lastLogin(jdbc, 600)).isEqualTo(LOGIN.plusSeconds(600));
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE last_login_at IS NULL", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void shouldWriteWithJdbcBatchWithoutUpdateFrom() {
+        JdbcTemplate jdbc = database("");
+        LastLoginRecorder recorder = recorder(jdbc, null);
+        insertUser(jdbc, 1, null);
+        insertUser(jdbc, 2, null);
+        recorder.record(1L, LOGIN);
+        recorder.record(2L, LOGIN.plusSeconds(5));
+
+        assertThat(recorder.flush()).isEqualTo(2);
+
+        assertThat(ReflectionTestUtils.getField(recorder, "updateFromSupported")).isEqualTo(false);
+        assertThat(lastLogin(jdbc, 1)).isEqualTo(LOGIN);
+        assertThat(lastLogin(jdbc, 2)).isEqualTo(LOGIN.plusSeconds(5));
+    }
+
+    @Test
+    void shouldKeepLatestLoginBetweenFlushes() {
+        JdbcTemplate jdbc = database("");
+        LastLoginRecorder recorder = recorder(jdbc, null);
+        insertUser(jdbc, 1, null);
+        recorder.record(1L, LOGIN.plusSeconds(30));
+        recorder.record(1L, LOGIN);
+
+        assertThat(recorder.flush()).isEqualTo(1);
+        assertThat(lastLogin(jdbc, 1)).isEqualTo(LOGIN.plusSeconds(30));
+        assertThat(recorder.flush()).isZero();
+    }
+
+    @Test
+    void shouldNotMoveLastLoginBackwardsWithUpdateFrom() {
+        shouldNotMoveLastLoginBackwards(database(";MODE=PostgreSQL"), true);
+    }
+
+    @Test
+    void shouldNotMoveLastLoginBackwardsWithJdbcBatch() {
+        shouldNotMoveLastLoginBackwards(database(""), null);
+    }
+
+    private static void shouldNotMoveLastLoginBackwards(JdbcTemplate jdbc, Boolean updateFrom) {
+        LastLoginRecorder recorder = recorder(jdbc, updateFrom);
+        // Written by another instance with a later login
+        insertUser(jdbc, 1, LOGIN.plus(1, ChronoUnit.HOURS));
+        insertUser(jdbc, 2, LOGIN.minus(1, ChronoUnit.HOURS));
+        recorder.record(1L, LOGIN);
+        recorder.record(2L, LOGIN);
+
+        recorder.flush();
+
+        assertThat(lastLogin(jdbc, 1)).isEqualTo(LOGIN.plus(1, ChronoUnit.HOURS));
+        assertThat(lastLogin(jdbc, 2)).isEqualTo(LOGIN);
+    }
+
+    @Test
+    void shouldRequeueAfterFailedFlush() {
+        JdbcTemplate jdbc = database("");
+        LastLoginRecorder recorder = recorder(jdbc, null);
+        jdbc.execute("DROP TABLE users");
+        recorder.record(1L, LOGIN);
+
+        // Table missing: DataAccessException, nothing written, login kept
+        assertThat(recorder.flush()).isZero();
+
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, last_login_at TIMESTAMP)");
+        insertUser(jdbc, 1, null);
+        recorder.record(1L, LOGIN.minusSeconds(10));
+
+        assertThat(recorder.flush()).isEqualTo(1);
+        assertThat(lastLogin(jdbc, 1)).isEqualTo(LOGIN);
+    }
+
+    private static LastLoginRecorder recorder(JdbcTemplate jdbc, Boolean updateFromSupported) {
+        LastLoginRecorder recorder = new LastLoginRecorder(jdbc, new SimpleMeterRegistry());
+        if (updateFromSupported != null) {
+            ReflectionTestUtils.setField(recorder, "updateFromSupported", updateFromSupported);
+        }
+        return recorder;
+    }
+
+    private static JdbcTemplate database(String mode) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:last-login-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1" + mode);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, last_login_at TIMESTAMP)");
+        return jdbc;
+    }
+
+    private static void insertUser(JdbcTemplate jdbc, long id, Instant lastLoginAt) {
+        jdbc.update("INSERT INTO users (id, last_login_at) VALUES (?, ?)",
+                id, lastLoginAt == null ? null : Timestamp.from(lastLoginAt));
+    }
+
+    private static Instant lastLogin(JdbcTemplate jdbc, long id) {
+        Timestamp lastLoginAt = jdbc.queryForObject(
+                "SELECT last_login_at FROM users WHERE id = ?", Timestamp.class, id);
+        return lastLoginAt == null ? null : lastLoginAt.toInstant();
+    }
+}
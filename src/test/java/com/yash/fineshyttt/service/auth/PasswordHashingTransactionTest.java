@@ -0,0 +1,83 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.yash.fineshyttt.dto.auth.AuthResponse;
+import com.yash.fineshyttt.repository.RefreshTokenRepository;
+import com.yash.fineshyttt.security.PasswordHashingExecutor;
+import com.yash.fineshyttt.service.UserService;
+import com.yash.fineshyttt.support.TestJwtKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * BCrypt runs with no transaction open (no pooled connection held while
+ * hashing) on registration and login
+ *
+ * Not @Transactional, unlike BaseIntegrationTest: a test transaction would
+ * be active around every call.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PasswordHashingTransactionTest {
+
+    @MockitoSpyBean
+    private PasswordHashingExecutor passwordHashing;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    /** Whether a transaction was active on the calling thread, per hash */
+    private final List<Boolean> transactionActive = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void jwtKeys(DynamicPropertyRegistry registry) {
+        TestJwtKeys.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(passwordHashing).encode(any());
+        doAnswer(invocation -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(passwordHashing).matches(any(), anyString());
+    }
+
+    @Test
+    void shouldHashOutsideTransactions() {
+        String email = "hashing-" + UUID.randomUUID() + "@example.com";
+
+        userService.registerCustomer(email, "Test@1234");
+        AuthResponse response = authService.login(email, "Test@1234", "device");
+
+        assertThat(transactionActive).containsExactly(false, false);
+        // The refresh token was still committed, in its own transaction
+        assertThat(response.refreshToken()).isNotBlank();
+        assertThat(refreshTokenRepository.findAll())
+                .anyMatch(token -> token.getUser().getId().equals(userService.findIdByEmail(email).orElseThrow()));
+    }
+}
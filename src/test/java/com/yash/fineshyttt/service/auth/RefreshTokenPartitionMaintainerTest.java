@@ -0,0 +1,133 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.yash.fineshyttt.config.RefreshTokenPartitionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Partition maintenance against a mocked JdbcTemplate: which statements
+ * are issued for which partitions
+ */
+class RefreshTokenPartitionMaintainerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final RefreshTokenPartitionProperties properties = new RefreshTokenPartitionProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RefreshTokenPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDaysAhead(2);
+        maintainer = new RefreshTokenPartitionMaintainer(jdbcTemplate, properties, meterRegistry, 1);
+    }
+
+    @Test
+    void shouldRequireHorizonBeyondRefreshTokenTtl() {
+        properties.setDaysAhead(7);
+
+        assertThatThrownBy(() -> new RefreshTokenPartitionMaintainer(jdbcTemplate, properties, meterRegistry, 7))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("days-ahead (7)");
+    }
+
+    @Test
+    void shouldParsePartitionDay() {
+        assertThat(RefreshTokenPartitionMaintainer.partitionDay("refresh_tokens_p20261016")).isEqualTo(LocalDate.of(2026, 10, 16));
+        assertThat(RefreshTokenPartitionMaintainer.partitionDay("refresh_tokens_default")).isNull();
+        assertThat(RefreshTokenPartitionMaintainer.partitionDay("refresh_tokens_p2026")).isNull();
+    }
+
+    @Test
+    void shouldCreatePartitionsAhead() {
+        assertThat(maintainer.createAhead(TODAY)).isZero();
+
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS refresh_tokens_p20261018 PARTITION OF"));
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS refresh_tokens_p20261019 PARTITION OF"));
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS refresh_tokens_p20261020 PARTITION OF"));
+        verify(jdbcTemplate, Mockito.times(3)).execute(startsWith("CREATE TABLE"));
+    }
+
+    @Test
+    void shouldCountFailedCreates() {
+        doThrow(new DataAccessResourceFailureException("lock timeout"))
+                .when(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS refresh_tokens_p20261019"));
+
+        assertThat(maintainer.createAhead(TODAY)).isEqualTo(1);
+
+        // The remaining days are still created
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS refresh_tokens_p20261020"));
+        assertThat(meterRegistry.get("refresh_token.partitions.failures").tag("operation", "create").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldDropOnlyPartitionsEndedBeforeYesterday() {
+        // [16, 17) ended before yesterday (17); [17, 18) may still hold rows a
+        // time zone away from expiring
+        partitions(
+                new RefreshTokenPartitionMaintainer.Partition("refresh_tokens_p20261016", false),
+                new RefreshTokenPartitionMaintainer.Partition("refresh_tokens_p20261017", false)
+        );
+
+        assertThat(maintainer.dropExpired(TODAY)).isEqualTo(1);
+
+        verify(jdbcTemplate).execute("DROP TABLE refresh_tokens_p20261016");
+        verify(jdbcTemplate, never()).execute(eq("DROP TABLE refresh_tokens_p20261017"));
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE refresh_tokens DETACH PARTITION refresh_tokens_p20261017"));
+    }
+
+    @Test
+    void shouldDetachConcurrentlyBeforeDropping() {
+        partitions(new RefreshTokenPartitionMaintainer.Partition("refresh_tokens_p20261001", false));
+
+        maintainer.dropExpired(TODAY);
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE refresh_tokens DETACH PARTITION refresh_tokens_p20261001 CONCURRENTLY");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE refresh_tokens_p20261001");
+    }
+
+    @Test
+    void shouldFinishInterruptedDetach() {
+        partitions(
+                new RefreshTokenPartitionMaintainer.Partition("refresh_tokens_p20261001", true),
+                new RefreshTokenPartitionMaintainer.Partition("refresh_tokens_p20261002", null)
+        );
+
+        maintainer.dropExpired(TODAY);
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE refresh_tokens DETACH PARTITION refresh_tokens_p20261001 FINALIZE");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE refresh_tokens_p20261001");
+        // Already detached: only the drop is left
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE refresh_tokens DETACH PARTITION refresh_tokens_p20261002"));
+        verify(jdbcTemplate).execute("DROP TABLE refresh_tokens_p20261002");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void partitions(RefreshTokenPartitionMaintainer.Partition... partitions) {
+        Mockito.when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(partitions));
+    }
+}
@@ -0,0 +1,139 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.yash.fineshyttt.config.RefreshTokenPartitionProperties;
+import com.yash.fineshyttt.support.TestPostgres;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Partition create/detach/drop against embedded PostgreSQL, schema from the
+ * Flyway migrations (a fresh database per test)
+ */
+class RefreshTokenPartitionPostgresTest {
+
+    private static final long REFRESH_TTL_DAYS = 7;
+
+    private final LocalDate today = LocalDate.now();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RefreshTokenPartitionProperties properties = new RefreshTokenPartitionProperties();
+
+    private JdbcTemplate jdbcTemplate;
+    private RefreshTokenPartitionMaintainer maintainer;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestPostgres.dataSource(TestPostgres.createMigratedDatabase()));
+        properties.setDaysAhead(20);
+        maintainer = new RefreshTokenPartitionMaintainer(jdbcTemplate, properties, meterRegistry, REFRESH_TTL_DAYS);
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password_hash, created_at, updated_at)
+                VALUES ('partitions@example.com', 'x', now(), now())
+                RETURNING id
+                """, Long.class);
+    }
+
+    @Test
+    void shouldMigrateToDailyPartitionsWithoutDefault() {
+        assertThat(maintainer.isPartitioned()).isTrue();
+        assertThat(partitionBounds()).noneMatch(bound -> bound.equals("DEFAULT"));
+        assertThat(partitions()).contains(partition(today), partition(today.plusDays(14)));
+    }
+
+    @Test
+    void shouldCreatePartitionsAtStartup() {
+        maintainer.createAtStartup();
+
+        assertThat(partitions()).contains(partition(today.plusDays(20)));
+        // A token issued at the end of the horizon has somewhere to go
+        insertToken(today.plusDays(20));
+    }
+
+    @Test
+    void shouldFailStartupWhenPartitionCannotBeCreated() {
+        // Overlaps the range the maintainer wants for today + 17
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE refresh_tokens_manual PARTITION OF refresh_tokens FOR VALUES FROM ('%s') TO ('%s')",
+                today.plusDays(16).atTime(12, 0), today.plusDays(17).atTime(12, 0)
+        ));
+
+        assertThatThrownBy(maintainer::createAtStartup)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Could not create 2 refresh token partitions");
+        assertThat(meterRegistry.get("refresh_token.partitions.failures").tag("operation", "create").counter().count())
+                .isEqualTo(2.0);
+        assertThat(partitions()).contains(partition(today.plusDays(20)));
+    }
+
+    @Test
+    void shouldDetachConcurrentlyAndDropExpiredPartitions() {
+        LocalDate expiredDay = today.minusDays(5);
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE %s PARTITION OF refresh_tokens FOR VALUES FROM ('%s') TO ('%s')",
+                partition(expiredDay), expiredDay, expiredDay.plusDays(1)
+        ));
+        insertToken(expiredDay);
+        insertToken(today.plusDays(1));
+
+        assertThat(maintainer.dropExpired(today)).isEqualTo(1);
+
+        assertThat(partitions()).doesNotContain(partition(expiredDay)).contains(partition(today));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, partition(expiredDay)))
+                .isNull();
+    }
+
+    @Test
+    void shouldDropPartitionLeftDetached() {
+        LocalDate expiredDay = today.minusDays(3);
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE %s PARTITION OF refresh_tokens FOR VALUES FROM ('%s') TO ('%s')",
+                partition(expiredDay), expiredDay, expiredDay.plusDays(1)
+        ));
+        // A previous run detached it, then failed before the drop
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens DETACH PARTITION " + partition(expiredDay));
+
+        assertThat(maintainer.dropExpired(today)).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, partition(expiredDay)))
+                .isNull();
+    }
+
+    private void insertToken(LocalDate expiresOn) {
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (user_id, token_hash, device_fingerprint, issued_at, expires_at)
+                VALUES (?, sha256(random()::text::bytea), 'test', now(), ?)
+                """, userId, Timestamp.valueOf(expiresOn.atTime(12, 0)));
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'refresh_tokens'::regclass
+                """, String.class);
+    }
+
+    private List<String> partitionBounds() {
+        return jdbcTemplate.queryForList("""
+                SELECT pg_get_expr(c.relpartbound, c.oid)
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'refresh_tokens'::regclass
+                """, String.class);
+    }
+
+    private static String partition(LocalDate day) {
+        return "refresh_tokens_p" + day.toString().replace("-", "");
+    }
+}
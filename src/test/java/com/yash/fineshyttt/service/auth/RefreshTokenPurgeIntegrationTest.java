@@ -0,0 +1,115 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.yash.fineshyttt.BaseIntegrationTest;
+import com.yash.fineshyttt.config.RefreshTokenPurgeProperties;
+import com.yash.fineshyttt.domain.RefreshToken;
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.repository.RefreshTokenRepository;
+import com.yash.fineshyttt.repository.UserRepository;
+import com.yash.fineshyttt.security.TokenHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset row purge on H2 (not partitioned, so only the row path runs)
+ */
+class RefreshTokenPurgeIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RefreshTokenRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RefreshTokenPartitionMaintainer partitionMaintainer;
+
+    private final TokenHasher tokenHasher = new TokenHasher();
+    private final RefreshTokenPurgeProperties properties = new RefreshTokenPurgeProperties();
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private User user;
+    private RefreshTokenPurgeJob job;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("purge@example.com", "unused"));
+        properties.setBatchSize(2);
+        properties.setThrottle(Duration.ZERO);
+        job = job(properties);
+    }
+
+    @Test
+    void shouldPurgeExpiredAndLongRevokedTokensInBatches() {
+        List<Long> purgeable = new ArrayList<>();
+        List<Long> kept = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            purgeable.add(token(now.minus(Duration.ofHours(1)), null));
+            kept.add(token(now.plus(Duration.ofDays(1)), null));
+            purgeable.add(token(now.plus(Duration.ofDays(1)), now.minus(Duration.ofDays(8))));
+        }
+
+        // 6 purgeable rows interleaved with live ones: three full batches of 2
+        assertThat(job.purgeOnce()).isEqualTo(6);
+        assertThat(repository.findAllById(purgeable)).isEmpty();
+        assertThat(repository.findAllById(kept)).hasSize(3);
+    }
+
+    @Test
+    void shouldKeepRevokedTokensForTheRefreshTtl() {
+        // Revoked a day ago, still unexpired: a replay must be seen as reuse
+        properties.setRevokedRetention(Duration.ofHours(1));
+        RefreshTokenPurgeJob shortRetention = job(properties);
+        Long revoked = token(now.plus(Duration.ofDays(6)), now.minus(Duration.ofDays(1)));
+
+        assertThat(shortRetention.purgeOnce()).isZero();
+        assertThat(repository.findById(revoked)).isPresent();
+    }
+
+    @Test
+    void shouldStopAfterMaxBatchesPerRun() {
+        properties.setMaxBatchesPerRun(1);
+        for (int i = 0; i < 5; i++) {
+            token(now.minus(Duration.ofHours(1)), null);
+        }
+
+        assertThat(job.purgeOnce()).isEqualTo(2);
+        assertThat(job.purgeOnce()).isEqualTo(2);
+        assertThat(job.purgeOnce()).isEqualTo(1);
+        assertThat(job.purgeOnce()).isZero();
+    }
+
+    private RefreshTokenPurgeJob job(RefreshTokenPurgeProperties properties) {
+        return new RefreshTokenPurgeJob(
+                repository, properties, transactionTemplate, partitionMaintainer, new SimpleMeterRegistry(), 7);
+    }
+
+    private Long token(Instant expiresAt, Instant revokedAt) {
+        RefreshToken token = new RefreshToken(
+                user,
+                tokenHasher.hash(UUID.randomUUID().toString()),
+                "device",
+                now.minus(Duration.ofDays(7)),
+                expiresAt
+        );
+        if (revokedAt != null) {
+            token.revoke(revokedAt);
+        }
+        return repository.save(token).getId();
+    }
+}
@@ -0,0 +1,218 @@
+package com.yash.fineshyttt.service.auth;
+
+import com.yash.fineshyttt.domain.RefreshToken;
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.exception.AuthenticationException;
+import com.yash.fineshyttt.repository.RefreshTokenRepository;
+import com.yash.fineshyttt.security.TokenHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Many devices of one user refreshing concurrently
+ *
+ * The repository is an in-memory stand-in with the same guarantee the
+ * database gives revokeIfActive: the conditional revoke is atomic per row.
+ */
+class RefreshTokenServiceContentionTest {
+
+    private static final int THREADS = 32;
+
+    private final TokenHasher tokenHasher = new TokenHasher();
+    private final Map<ByteBuffer, RefreshToken> tokensByHash = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private RefreshTokenRepository repository;
+    private RefreshTokenService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        repository = inMemoryRepository();
+        service = new RefreshTokenService(repository, tokenHasher, new RotatedTokenIndex(30, 10_000));
+        ReflectionTestUtils.setField(service, "refreshTtlDays", 7L);
+        ReflectionTestUtils.setField(service, "reuseGraceSeconds", 30L);
+
+        user = User.builder()
+                .id(1L)
+                .email("devices@example.com")
+                .passwordHash("unused")
+                .build();
+    }
+
+    @Test
+    void shouldRotateExactlyOnceWhenDevicesRaceOnSameToken() throws Exception {
+        String shared = service.create(user, "device").rawValue();
+
+        List<Object> outcomes = runConcurrently(THREADS, i -> () -> {
+            try {
+                return service.validateAndRotate(shared);
+            } catch (AuthenticationException ex) {
+                return ex.getMessage();
+            }
+        });
+
+        assertThat(outcomes).filteredOn(RefreshTokenResult.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(String.class::isInstance)
+                .hasSize(THREADS - 1)
+                .containsOnly("Refresh token already used");
+
+        // Losers were grace-window retries, not a reuse attack: the winner's token survives
+        assertThat(activeTokens()).hasSize(1);
+    }
+
+    @Test
+    void shouldRotateIndependentDeviceTokensConcurrently() throws Exception {
+        int rotationsPerDevice = 25;
+        List<String> initial = new ArrayList<>();
+        for (int device = 0; device < THREADS; device++) {
+            initial.add(service.create(user, "device-" + device).rawValue());
+        }
+
+        List<Object> outcomes = runConcurrently(THREADS, device -> () -> {
+            String current = initial.get(device);
+            for (int i = 0; i < rotationsPerDevice; i++) {
+                current = service.validateAndRotate(current).rawValue();
+            }
+            return current;
+        });
+
+        assertThat(outcomes).hasSize(THREADS).doesNotHaveDuplicates();
+        assertThat(activeTokens()).hasSize(THREADS);
+        assertThat(tokensByHash).hasSize(THREADS * (rotationsPerDevice + 1));
+    }
+
+    @Test
+    void shouldAnswerRetryWithinGraceWindowWithoutLookup() {
+        String raw = service.create(user, "device").rawValue();
+        service.validateAndRotate(raw);
+
+        for (int retry = 0; retry < 5; retry++) {
+            assertThatThrownBy(() -> service.validateAndRotate(raw))
+                    .isInstanceOf(AuthenticationException.class)
+                    .hasMessage("Refresh token already used");
+        }
+
+        verify(repository, times(1)).findByTokenHash(tokenHasher.hash(raw));
+    }
+
+    private interface TaskFactory {
+        Callable<Object> create(int index);
+    }
+
+    private List<Object> runConcurrently(int threads, TaskFactory factory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Object> task = factory.create(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            start.countDown();
+
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<RefreshToken> activeTokens() {
+        return tokensByHash.values().stream()
+                .filter(token -> !token.isRevoked())
+                .toList();
+    }
+
+    private RefreshTokenRepository inMemoryRepository() {
+        RefreshTokenRepository repo = Mockito.mock(RefreshTokenRepository.class);
+
+        Mockito.when(repo.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId(ids.incrementAndGet());
+            tokensByHash.put(ByteBuffer.wrap(token.getTokenHash()), token);
+            return token;
+        });
+
+        // Snapshot, like a row read from the database
+        Mockito.when(repo.findByTokenHash(any(byte[].class))).thenAnswer(invocation ->
+                Optional.ofNullable(tokensByHash.get(ByteBuffer.wrap(invocation.<byte[]>getArgument(0))))
+                        .map(RefreshTokenServiceContentionTest::snapshot));
+
+        Mockito.when(repo.revokeIfActive(anyLong(), any(Instant.class))).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            RefreshToken token = tokensByHash.values().stream()
+                    .filter(t -> t.getId().equals(id))
+                    .findFirst()
+                    .orElseThrow();
+            synchronized (token) {
+                if (token.isRevoked()) {
+                    return 0;
+                }
+                token.revoke(invocation.getArgument(1));
+                return 1;
+            }
+        });
+
+        Mockito.doAnswer(invocation -> {
+            tokensByHash.values().forEach(token -> {
+                synchronized (token) {
+                    if (!token.isRevoked()) {
+                        token.revoke(invocation.getArgument(1));
+                    }
+                }
+            });
+            return null;
+        }).when(repo).revokeAllByUserId(anyLong(), any(Instant.class));
+
+        return repo;
+    }
+
+    private static RefreshToken snapshot(RefreshToken token) {
+        synchronized (token) {
+            RefreshToken copy = new RefreshToken(
+                    token.getUser(),
+                    token.getTokenHash(),
+                    token.getDeviceFingerprint(),
+                    token.getIssuedAt(),
+                    token.getExpiresAt()
+            );
+            copy.setId(token.getId());
+            copy.setRevoked(token.isRevoked());
+            copy.setRevokedAt(token.getRevokedAt());
+            copy.setLastUsedAt(token.getLastUsedAt());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.yash.fineshyttt.service.cache;
+
+import com.yash.fineshyttt.support.TestPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    /** Long enough for a NOTIFY to arrive had it been sent */
+    private static final long QUIET_MILLIS = 1000;
+
+    private static final long PROBE = -1L;
+
+    @Test
+    void localBusShouldDeliverToSubscribers() {
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        BlockingQueue<Long> evicted = new LinkedBlockingQueue<>();
+        bus.subscribe(CacheInvalidationBus.USER, evicted::add, () -> {});
+
+        bus.publish(CacheInvalidationBus.USER, 42L);
+        bus.publish("other", 7L);
+
+        assertThat(evicted).containsExactly(42L);
+    }
+
+    /**
+     * Two buses on one embedded PostgreSQL database stand in for two
+     * instances; publishes go through a transaction as they do from the
+     * services.
+     */
+    @Test
+    void postgresBusShouldBroadcastToOtherInstancesOnlyAfterCommit() throws Exception {
+        String database = TestPostgres.createDatabase();
+        DataSource dataSource = TestPostgres.dataSource(database);
+        String url = TestPostgres.jdbcUrl(database);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        PostgresCacheInvalidationBus nodeA = new PostgresCacheInvalidationBus(
+                jdbcTemplate, url, TestPostgres.USER, TestPostgres.PASSWORD, Duration.ofMillis(50));
+        PostgresCacheInvalidationBus nodeB = new PostgresCacheInvalidationBus(
+                jdbcTemplate, url, TestPostgres.USER, TestPostgres.PASSWORD, Duration.ofMillis(50));
+
+        BlockingQueue<Long> evictedOnA = new LinkedBlockingQueue<>();
+        BlockingQueue<Long> evictedOnB = new LinkedBlockingQueue<>();
+        nodeA.subscribe(CacheInvalidationBus.USER, evictedOnA::add, () -> {});
+        nodeB.subscribe(CacheInvalidationBus.USER, evictedOnB::add, () -> {});
+
+        nodeA.start();
+        nodeB.start();
+        try {
+            awaitListening(nodeA, evictedOnB);
+
+            // Held back until commit
+            transactionTemplate.executeWithoutResult(status -> {
+                nodeA.publish(CacheInvalidationBus.USER, 42L);
+                assertThat(poll(evictedOnB, QUIET_MILLIS)).isNull();
+            });
+            assertThat(poll(evictedOnB, 5000)).isEqualTo(42L);
+
+            // Never sent for a rolled-back change
+            transactionTemplate.executeWithoutResult(status -> {
+                nodeA.publish(CacheInvalidationBus.USER, 7L);
+                status.setRollbackOnly();
+            });
+            assertThat(poll(evictedOnB, QUIET_MILLIS)).isNull();
+
+            // The publishing instance evicts directly, now and again once the
+            // transaction completes, commit or not (42 also comes back over NOTIFY)
+            assertThat(evictedOnA).filteredOn(key -> key != PROBE).containsOnly(42L, 7L);
+            assertThat(evictedOnA).filteredOn(key -> key == 7L).hasSize(2);
+        } finally {
+            nodeA.stop();
+            nodeB.stop();
+        }
+    }
+
+    /**
+     * LISTEN is issued asynchronously; publish until node B is listening.
+     */
+    private static void awaitListening(PostgresCacheInvalidationBus nodeA, BlockingQueue<Long> evictedOnB)
+            throws InterruptedException {
+        Long received = null;
+        for (int attempt = 0; attempt < 20 && received == null; attempt++) {
+            nodeA.publish(CacheInvalidationBus.USER, PROBE);
+            received = evictedOnB.poll(500, TimeUnit.MILLISECONDS);
+        }
+        assertThat(received).isEqualTo(PROBE);
+
+        // Drain the probes still in flight
+        while (evictedOnB.poll(200, TimeUnit.MILLISECONDS) != null) {
+            // discard
+        }
+    }
+
+    private static Long poll(BlockingQueue<Long> queue, long millis) {
+        try {
+            return queue.poll(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.yash.fineshyttt.service.cart;
+
+import com.yash.fineshyttt.BaseIntegrationTest;
+import com.yash.fineshyttt.config.CartPurgeProperties;
+import com.yash.fineshyttt.domain.Cart;
+import com.yash.fineshyttt.domain.User;
+import com.yash.fineshyttt.repository.CartItemRepository;
+import com.yash.fineshyttt.repository.CartRepository;
+import com.yash.fineshyttt.repository.CartRepository.PurgeCandidate;
+import com.yash.fineshyttt.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-rule keyset purge on H2: batching, the re-checked DELETE predicate
+ * and the throttle between batches
+ */
+class CartPurgeIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final CartPurgeProperties properties = new CartPurgeProperties();
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private CartPurgeJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setThrottle(Duration.ZERO);
+        job = job(cartRepository);
+    }
+
+    @Test
+    void shouldPurgeEveryRuleInBatches() {
+        List<Long> purgeable = new ArrayList<>();
+        List<Long> kept = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            purgeable.add(guestCart(now.minus(Duration.ofHours(1)), now));
+            purgeable.add(guestCart(null, now.minus(Duration.ofDays(8))));
+            // Same updated_at: the keyset moves on by id within one timestamp
+            purgeable.add(userCart(now.minus(Duration.ofDays(91))));
+
+            kept.add(guestCart(now.plus(Duration.ofDays(1)), now.minus(Duration.ofDays(30))));
+            kept.add(guestCart(null, now.minus(Duration.ofDays(1))));
+            kept.add(userCart(now.minus(Duration.ofDays(30))));
+        }
+
+        // Three candidates per rule: a full batch of 2, then 1
+        assertThat(job.purgeOnce()).isEqualTo(9);
+        assertThat(cartRepository.findAllById(purgeable)).isEmpty();
+        assertThat(cartRepository.findAllById(kept)).hasSize(9);
+    }
+
+    @Test
+    void shouldShareMaxBatchesPerRunAcrossRules() {
+        properties.setMaxBatchesPerRun(1);
+        for (int i = 0; i < 3; i++) {
+            guestCart(now.minus(Duration.ofHours(1)), now);
+        }
+        userCart(now.minus(Duration.ofDays(91)));
+
+        assertThat(job.purgeOnce()).isEqualTo(2);
+        assertThat(job.purgeOnce()).isEqualTo(1);
+        assertThat(job.purgeOnce()).isEqualTo(1);
+        assertThat(job.purgeOnce()).isZero();
+    }
+
+    @Test
+    void shouldKeepCartTouchedBetweenScanAndDelete() {
+        Long touched = userCart(now.minus(Duration.ofDays(91)));
+        Long idle = userCart(now.minus(Duration.ofDays(91)));
+
+        // The cart is used again right after the scan picked it
+        CartRepository racing = mock(CartRepository.class, delegatesTo(cartRepository));
+        doAnswer(invocation -> {
+            List<PurgeCandidate> candidates = cartRepository.findIdleUserCarts(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                    invocation.getArgument(3));
+            cartRepository.touch(touched, Instant.now());
+            return candidates;
+        }).when(racing).findIdleUserCarts(any(), any(), any(), any(Pageable.class));
+
+        assertThat(job(racing).purgeOnce()).isEqualTo(1);
+        assertThat(cartRepository.existsById(touched)).isTrue();
+        assertThat(cartRepository.existsById(idle)).isFalse();
+    }
+
+    @Test
+    void shouldPauseBetweenFullBatches() {
+        properties.setThrottle(Duration.ofMillis(100));
+        for (int i = 0; i < 5; i++) {
+            guestCart(now.minus(Duration.ofHours(1)), now);
+        }
+
+        long started = System.nanoTime();
+        assertThat(job.purgeOnce()).isEqualTo(5);
+
+        // Batches of 2, 2 and 1: a pause after each full one
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void shouldStopRunWhenInterruptedWhilePausing() {
+        properties.setThrottle(Duration.ofSeconds(10));
+        for (int i = 0; i < 3; i++) {
+            guestCart(now.minus(Duration.ofHours(1)), now);
+        }
+        userCart(now.minus(Duration.ofDays(91)));
+
+        Thread.currentThread().interrupt();
+        long deleted;
+        try {
+            deleted = job.purgeOnce();
+        } finally {
+            // The job restores the flag for its caller
+            assertThat(Thread.interrupted()).isTrue();
+        }
+
+        // First batch only; the other rules are deferred too
+        assertThat(deleted).isEqualTo(2);
+        assertThat(cartRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldScanCandidatesInKeysetOrder() {
+        Long newest = guestCart(now.minus(Duration.ofHours(1)), now);
+        Long oldest = guestCart(now.minus(Duration.ofHours(3)), now);
+        Long middle = guestCart(now.minus(Duration.ofHours(2)), now);
+
+        List<PurgeCandidate> first = cartRepository.findExpiredGuestCarts(now, Instant.EPOCH, 0L, Pageable.ofSize(2));
+        PurgeCandidate last = first.get(1);
+        List<PurgeCandidate> second = cartRepository.findExpiredGuestCarts(
+                now, last.getCursor(), last.getId(), Pageable.ofSize(2));
+
+        assertThat(first).extracting(PurgeCandidate::getId).containsExactly(oldest, middle);
+        assertThat(second).extracting(PurgeCandidate::getId).containsExactly(newest);
+    }
+
+    private CartPurgeJob job(CartRepository repository) {
+        return new CartPurgeJob(
+                repository, cartItemRepository, properties, transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    private Long guestCart(Instant expiresAt, Instant updatedAt) {
+        return cartRepository.save(Cart.builder()
+                .sessionId(UUID.randomUUID().toString())
+                .expiresAt(expiresAt)
+                .updatedAt(updatedAt)
+                .build()).getId();
+    }
+
+    private Long userCart(Instant updatedAt) {
+        User user = userRepository.save(new User("cart-" + UUID.randomUUID() + "@example.com", "unused"));
+        return cartRepository.save(Cart.builder()
+                .user(user)
+                .updatedAt(updatedAt)
+                .build()).getId();
+    }
+}
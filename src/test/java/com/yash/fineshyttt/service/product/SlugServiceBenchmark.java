@@ -0,0 +1,62 @@
+package com.yash.fineshyttt.service.product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product slug generation (SlugService.generate)
+ *
+ * - ascii: plain product name
+ * - accented: name with combining marks and punctuation, the worst case
+ *   for the NFD normalization and the two regex passes
+ *
+ * generateUnique adds existsBySlug queries on top; only the string work
+ * is measured here.
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.service.product.SlugServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlugServiceBenchmark {
+
+    @Param({
+            "Classic Linen Shirt",
+            "Crème Brûlée — Señorita's Café Kurta (Limited_Edition) 2024!"
+    })
+    private String name;
+
+    private final SlugService slugService = new SlugService(null);
+
+    @Benchmark
+    public String generate() {
+        return slugService.generate(name);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SlugServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
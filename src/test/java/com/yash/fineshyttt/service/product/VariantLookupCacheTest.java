@@ -0,0 +1,189 @@
+package com.yash.fineshyttt.service.product;
+
+import com.yash.fineshyttt.repository.ProductVariantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+class VariantLookupCacheTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toNanos(10);
+
+    private final ProductVariantRepository repository = Mockito.mock(ProductVariantRepository.class);
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(repository.findLookupRow(anyLong()))
+                .thenAnswer(invocation -> Optional.of(row(invocation.getArgument(0))));
+    }
+
+    @Test
+    void shouldStayWithinMaximumSize() {
+        // 64 entries = 4 per segment
+        VariantLookupCache cache = new VariantLookupCache(repository, 64, TTL, clock::get);
+
+        for (long id = 1; id <= 5_000; id++) {
+            clock.incrementAndGet();
+            cache.get(id);
+        }
+
+        assertThat(cache.getCacheSize()).isLessThanOrEqualTo(64);
+        assertThat(cache.getStats().evictionCount()).isGreaterThanOrEqualTo(5_000 - 64);
+    }
+
+    @Test
+    void shouldKeepNewestEntryOfAFullSegment() {
+        // One entry per segment: every new id in a segment replaces the older one
+        VariantLookupCache cache = new VariantLookupCache(repository, 16, TTL, clock::get);
+        cache.get(1L);
+        clock.addAndGet(1);
+
+        for (long id = 2; id <= 200; id++) {
+            cache.get(id);
+        }
+        Mockito.clearInvocations(repository);
+
+        cache.get(200L);
+        Mockito.verify(repository, Mockito.never()).findLookupRow(200L);
+        assertThat(cache.getCacheSize()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void shouldGiveRecentlyReadEntriesASecondChance() {
+        // Two entries per segment; a, b and c share one
+        VariantLookupCache cache = new VariantLookupCache(repository, 32, TTL, clock::get);
+        long[] ids = sameSegmentIds(3);
+        long a = ids[0], b = ids[1], c = ids[2];
+
+        cache.get(a);
+        cache.get(b);
+        cache.get(a);
+        // Full: the hand passes over a (read since it was loaded) and takes b
+        cache.get(c);
+        Mockito.clearInvocations(repository);
+
+        cache.get(a);
+        cache.get(c);
+        Mockito.verify(repository, Mockito.never()).findLookupRow(a);
+        Mockito.verify(repository, Mockito.never()).findLookupRow(c);
+
+        cache.get(b);
+        Mockito.verify(repository).findLookupRow(b);
+    }
+
+    @Test
+    void shouldEvictExpiredEntryBeforeReferencedOnes() {
+        VariantLookupCache cache = new VariantLookupCache(repository, 32, TTL, clock::get);
+        long[] ids = sameSegmentIds(3);
+
+        cache.get(ids[0]);
+        cache.get(ids[0]);
+        clock.addAndGet(TTL / 2);
+        cache.get(ids[1]);
+        cache.get(ids[1]);
+        clock.addAndGet(TTL / 2);
+
+        // ids[0] has expired: replaced although it was read
+        cache.get(ids[2]);
+        Mockito.clearInvocations(repository);
+
+        cache.get(ids[1]);
+        cache.get(ids[2]);
+        Mockito.verifyNoInteractions(repository);
+        assertThat(cache.getStats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReuseSlotsFreedByInvalidation() {
+        VariantLookupCache cache = new VariantLookupCache(repository, 32, TTL, clock::get);
+        long[] ids = sameSegmentIds(3);
+        cache.get(ids[0]);
+        cache.get(ids[1]);
+
+        cache.invalidate(ids[0]);
+        cache.get(ids[2]);
+        Mockito.clearInvocations(repository);
+
+        // The free slot was taken: nothing evicted
+        cache.get(ids[1]);
+        Mockito.verifyNoInteractions(repository);
+        assertThat(cache.getStats().evictionCount()).isZero();
+    }
+
+    @Test
+    void shouldPurgeExpiredEntries() {
+        VariantLookupCache cache = new VariantLookupCache(repository, 1_000, TTL, clock::get);
+        cache.get(1L);
+        cache.get(2L);
+        clock.addAndGet(TTL / 2);
+        cache.get(3L);
+
+        clock.addAndGet(TTL / 2);
+
+        assertThat(cache.purgeExpired()).isEqualTo(2);
+        assertThat(cache.getCacheSize()).isEqualTo(1);
+        assertThat(cache.getStats().evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReloadExpiredEntry() {
+        VariantLookupCache cache = new VariantLookupCache(repository, 1_000, TTL, clock::get);
+        cache.get(7L);
+        cache.get(7L);
+        Mockito.verify(repository, Mockito.times(1)).findLookupRow(7L);
+
+        clock.addAndGet(TTL);
+        cache.get(7L);
+
+        Mockito.verify(repository, Mockito.times(2)).findLookupRow(7L);
+    }
+
+    private static ProductVariantRepository.LookupRow row(long id) {
+        return new ProductVariantRepository.LookupRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return BigDecimal.TEN;
+            }
+
+            @Override
+            public Boolean getActive() {
+                return true;
+            }
+
+            @Override
+            public String getSku() {
+                return "SKU-" + id;
+            }
+
+            @Override
+            public Integer getAvailableStock() {
+                return 5;
+            }
+        };
+    }
+
+    private static long[] sameSegmentIds(int count) {
+        long[] ids = new long[count];
+        int found = 0;
+        for (long id = 1; found < count; id++) {
+            if (VariantLookupCache.segmentIndex(id) == VariantLookupCache.segmentIndex(1)) {
+                ids[found++] = id;
+            }
+        }
+        return ids;
+    }
+}
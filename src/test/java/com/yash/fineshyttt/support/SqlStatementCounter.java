@@ -0,0 +1,41 @@
+package com.yash.fineshyttt.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per thread
+ *
+ * Registered by class name, so Hibernate creates its own instance and the
+ * counts are static:
+ *
+ *   spring.jpa.properties.hibernate.session_factory.statement_inspector:
+ *     com.yash.fineshyttt.support.SqlStatementCounter
+ *
+ * A request is served on one thread, so reset() before and count() after it
+ * gives that request's statements. Statements issued through JdbcTemplate
+ * (LastLoginRecorder, purge jobs) bypass Hibernate and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Start counting from zero on the current thread.
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * @return Statements prepared on the current thread since the last reset
+     */
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,59 @@
+package com.yash.fineshyttt.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * RS256 signing keys for application contexts started by tests
+ *
+ * The real key files are not in the repository; a fresh pair is written to
+ * a temp directory once per JVM and security.jwt.* points at it.
+ */
+public final class TestJwtKeys {
+
+    private static Path keyDirectory;
+
+    private TestJwtKeys() {
+    }
+
+    public static synchronized void register(DynamicPropertyRegistry registry) {
+        if (keyDirectory == null) {
+            keyDirectory = generate();
+        }
+        Path directory = keyDirectory;
+        registry.add("security.jwt.algorithm", () -> "RS256");
+        registry.add("security.jwt.private-key-path", () -> directory.resolve("private.pem").toUri().toString());
+        registry.add("security.jwt.public-key-path", () -> directory.resolve("public.pem").toUri().toString());
+    }
+
+    private static Path generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            Path directory = Files.createTempDirectory("test-jwt-keys");
+            Files.writeString(directory.resolve("private.pem"),
+                    pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+            Files.writeString(directory.resolve("public.pem"),
+                    pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+            return directory;
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not create test JWT keys", ex);
+        }
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,75 @@
+package com.yash.fineshyttt.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded PostgreSQL for tests that need the real database (partitions,
+ * LISTEN/NOTIFY), started once per JVM
+ *
+ * Each test class gets its own database on the shared server, so tests
+ * do not see each other's tables or notifications.
+ */
+public final class TestPostgres {
+
+    public static final String USER = "postgres";
+    public static final String PASSWORD = "postgres";
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    private TestPostgres() {
+    }
+
+    /**
+     * @return Name of a new, empty database
+     */
+    public static String createDatabase() {
+        String name = "test_" + DATABASES.incrementAndGet();
+        new JdbcTemplate(server().getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        return name;
+    }
+
+    /**
+     * @return Name of a new database with the Flyway migrations applied
+     */
+    public static String createMigratedDatabase() {
+        String name = createDatabase();
+        Flyway.configure().dataSource(dataSource(name)).load().migrate();
+        return name;
+    }
+
+    public static DataSource dataSource(String database) {
+        return server().getDatabase(USER, database);
+    }
+
+    public static String jdbcUrl(String database) {
+        return server().getJdbcUrl(USER, database);
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Embedded PostgreSQL did not start", ex);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // JVM is exiting
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,30 @@
+package com.yash.fineshyttt.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * Keys that share a home slot in a table of the given capacity, to build
+ * probe chains deterministically.
+ */
+final class CollidingKeys {
+
+    private CollidingKeys() {
+    }
+
+    static long[] withHomeSlot(int capacity, int slot, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if ((LongHashing.mix(key) & (capacity - 1)) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    static long[] concat(long[] first, long[] second) {
+        long[] keys = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, keys, first.length, second.length);
+        return keys;
+    }
+}
@@ -0,0 +1,140 @@
+package com.yash.fineshyttt.util.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LongObjectMap / LongIntMap vs HashMap&lt;Long, ...&gt;
+ *
+ * Mirrors the hot paths that moved to primitive maps:
+ * - lookup: cart item index / variant cache hit (get by ID)
+ * - build: checkout bulk inventory load (put N entries)
+ * - tally: inventory release quantity sums (addTo vs merge)
+ *
+ * IDs start above the Long cache (127) like real database IDs, so the
+ * HashMap side pays for boxing exactly as it does in production.
+ *
+ * Run (with allocation rates):
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yash.fineshyttt.util.collections.LongCollectionsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LongCollectionsBenchmark {
+
+    private static final long ID_BASE = 10_000L;
+
+    @Param({"8", "64", "4096"})
+    int size;
+
+    long[] ids;
+    long[] probes;
+
+    LongObjectMap<Object> primitiveMap;
+    Map<Long, Object> boxedMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = ID_BASE + random.nextLong(size * 16L);
+        }
+
+        probes = new long[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = ids[random.nextInt(size)];
+        }
+
+        primitiveMap = new LongObjectMap<>(size);
+        boxedMap = new HashMap<>();
+        Object value = new Object();
+        for (long id : ids) {
+            primitiveMap.put(id, value);
+            boxedMap.put(id, value);
+        }
+    }
+
+    @Benchmark
+    public void lookupPrimitive(Blackhole bh) {
+        for (long probe : probes) {
+            bh.consume(primitiveMap.get(probe));
+        }
+    }
+
+    @Benchmark
+    public void lookupBoxed(Blackhole bh) {
+        for (long probe : probes) {
+            bh.consume(boxedMap.get(probe));
+        }
+    }
+
+    @Benchmark
+    public LongObjectMap<Object> buildPrimitive() {
+        LongObjectMap<Object> map = new LongObjectMap<>(ids.length);
+        for (long id : ids) {
+            map.put(id, this);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Long, Object> buildBoxed() {
+        Map<Long, Object> map = new HashMap<>(ids.length * 2);
+        for (long id : ids) {
+            map.put(id, this);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public LongIntMap tallyPrimitive() {
+        LongIntMap totals = new LongIntMap(ids.length);
+        for (long id : ids) {
+            totals.addTo(id, 1);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<Long, Integer> tallyBoxed() {
+        Map<Long, Integer> totals = new HashMap<>(ids.length * 2);
+        for (long id : ids) {
+            totals.merge(id, 1, Integer::sum);
+        }
+        return totals;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LongCollectionsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
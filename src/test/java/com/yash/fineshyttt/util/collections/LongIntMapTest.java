@@ -0,0 +1,92 @@
+package com.yash.fineshyttt.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongIntMapTest {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    void shouldTallyZeroKeyOutOfBand() {
+        LongIntMap map = new LongIntMap();
+
+        assertThat(map.getOrDefault(0, -1)).isEqualTo(-1);
+        assertThat(map.addTo(0, 2)).isEqualTo(2);
+        assertThat(map.addTo(0, 3)).isEqualTo(5);
+        assertThat(map.size()).isEqualTo(1);
+
+        assertThat(map.remove(0)).isTrue();
+        assertThat(map.remove(0)).isFalse();
+        assertThat(map.getOrDefault(0, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldTallyCollidingKeysSeparately() {
+        long[] keys = CollidingKeys.withHomeSlot(CAPACITY, 5, 4);
+        LongIntMap map = new LongIntMap(2);
+
+        for (int round = 1; round <= 3; round++) {
+            for (long key : keys) {
+                map.addTo(key, (int) key);
+            }
+        }
+
+        for (long key : keys) {
+            assertThat(map.getOrDefault(key, 0)).isEqualTo(3 * (int) key);
+        }
+    }
+
+    @Test
+    void shouldFindRestOfProbeChainAfterRemovingFromItsMiddle() {
+        long[] keys = CollidingKeys.withHomeSlot(CAPACITY, 6, 3);
+        LongIntMap map = new LongIntMap(2);
+        for (long key : keys) {
+            map.put(key, 1);
+        }
+
+        assertThat(map.remove(keys[1])).isTrue();
+
+        assertThat(map.containsKey(keys[0])).isTrue();
+        assertThat(map.containsKey(keys[1])).isFalse();
+        assertThat(map.getOrDefault(keys[2], 0)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepAllEntriesAcrossResizes() {
+        LongIntMap map = new LongIntMap();
+        for (int key = 1; key <= 10_000; key++) {
+            map.addTo(key, key);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int key = 1; key <= 10_000; key++) {
+            assertThat(map.getOrDefault(key, 0)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void shouldBehaveLikeHashMapUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(11);
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextLong(64);
+            switch (random.nextInt(3)) {
+                case 0 -> assertThat(map.addTo(key, 1)).isEqualTo(expected.merge(key, 1, Integer::sum));
+                case 1 -> assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+                default -> assertThat(map.getOrDefault(key, -1)).isEqualTo(expected.getOrDefault(key, -1));
+            }
+        }
+
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,140 @@
+package com.yash.fineshyttt.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectMapTest {
+
+    // new LongObjectMap<>(2) has 8 slots and resizes after the 4th key
+    private static final int CAPACITY = 8;
+
+    @Test
+    void shouldStoreZeroKeyOutOfBand() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertThat(map.get(0)).isNull();
+        assertThat(map.containsKey(0)).isFalse();
+
+        assertThat(map.put(0, "zero")).isNull();
+        assertThat(map.put(0, "again")).isEqualTo("zero");
+        assertThat(map.get(0)).isEqualTo("again");
+        assertThat(map.size()).isEqualTo(1);
+
+        assertThat(map.remove(0)).isEqualTo("again");
+        assertThat(map.containsKey(0)).isFalse();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldTellNullValuesFromAbsentKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(5, null);
+
+        assertThat(map.get(5)).isNull();
+        assertThat(map.containsKey(5)).isTrue();
+        assertThat(map.containsKey(6)).isFalse();
+    }
+
+    @Test
+    void shouldKeepCollidingKeysApart() {
+        long[] keys = CollidingKeys.withHomeSlot(CAPACITY, 3, 4);
+        LongObjectMap<Long> map = new LongObjectMap<>(2);
+
+        for (long key : keys) {
+            map.put(key, key * 10);
+        }
+
+        for (long key : keys) {
+            assertThat(map.get(key)).isEqualTo(key * 10);
+        }
+        assertThat(map.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldFindRestOfProbeChainAfterRemovingFromItsMiddle() {
+        long[] keys = CollidingKeys.withHomeSlot(CAPACITY, 3, 3);
+        LongObjectMap<Long> map = new LongObjectMap<>(2);
+        for (long key : keys) {
+            map.put(key, key);
+        }
+
+        assertThat(map.remove(keys[1])).isEqualTo(keys[1]);
+
+        assertThat(map.get(keys[0])).isEqualTo(keys[0]);
+        assertThat(map.get(keys[2])).isEqualTo(keys[2]);
+        assertThat(map.containsKey(keys[1])).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldShiftBackChainsThatWrapAroundTheTable() {
+        // Home slot 7: the chain continues at 0 and 1, where a key with home 0 follows
+        long[] wrapping = CollidingKeys.withHomeSlot(CAPACITY, 7, 3);
+        long[] atZero = CollidingKeys.withHomeSlot(CAPACITY, 0, 1);
+        LongObjectMap<Long> map = new LongObjectMap<>(2);
+        for (long key : CollidingKeys.concat(wrapping, atZero)) {
+            map.put(key, key);
+        }
+
+        map.remove(wrapping[0]);
+
+        for (long key : new long[]{wrapping[1], wrapping[2], atZero[0]}) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepAllEntriesAcrossResizes() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key * 7_919, key);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(map.get(key * 7_919)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void shouldBehaveLikeHashMapUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(7);
+        LongObjectMap<Integer> map = new LongObjectMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range including 0: long probe chains, many removes
+            long key = random.nextLong(64);
+            switch (random.nextInt(3)) {
+                case 0 -> assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+                case 1 -> assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+                default -> assertThat(map.get(key)).isEqualTo(expected.get(key));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldBeReusableAfterClear() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(0, "zero");
+        map.put(42, "answer");
+
+        map.clear();
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(42)).isNull();
+        map.put(42, "again");
+        assertThat(map.get(42)).isEqualTo("again");
+    }
+}
@@ -0,0 +1,77 @@
+package com.yash.fineshyttt.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongSetTest {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    void shouldHoldZeroOutOfBand() {
+        LongSet set = new LongSet();
+
+        assertThat(set.add(0)).isTrue();
+        assertThat(set.add(0)).isFalse();
+        assertThat(set.contains(0)).isTrue();
+        assertThat(set.toArray()).containsExactly(0L);
+
+        assertThat(set.remove(0)).isTrue();
+        assertThat(set.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldFindRestOfProbeChainAfterRemovingFromItsMiddle() {
+        long[] keys = CollidingKeys.withHomeSlot(CAPACITY, 7, 3);
+        LongSet set = new LongSet(2);
+        for (long key : keys) {
+            set.add(key);
+        }
+
+        assertThat(set.remove(keys[1])).isTrue();
+
+        assertThat(set.contains(keys[0])).isTrue();
+        assertThat(set.contains(keys[1])).isFalse();
+        assertThat(set.contains(keys[2])).isTrue();
+        assertThat(set.toArray()).containsExactlyInAnyOrder(keys[0], keys[2]);
+    }
+
+    @Test
+    void shouldKeepAllKeysAcrossResizes() {
+        LongSet set = new LongSet();
+        for (long key = -5_000; key < 5_000; key++) {
+            set.add(key);
+        }
+
+        assertThat(set.size()).isEqualTo(10_000);
+        for (long key = -5_000; key < 5_000; key++) {
+            assertThat(set.contains(key)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldBehaveLikeHashSetUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(13);
+        LongSet set = new LongSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextLong(64);
+            switch (random.nextInt(3)) {
+                case 0 -> assertThat(set.add(key)).isEqualTo(expected.add(key));
+                case 1 -> assertThat(set.remove(key)).isEqualTo(expected.remove(key));
+                default -> assertThat(set.contains(key)).isEqualTo(expected.contains(key));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        Set<Long> actual = new HashSet<>();
+        set.forEach(actual::add);
+        assertThat(actual).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,2 @@
+-- Reference data the migrations seed in PostgreSQL (V3__seed_roles.sql)
+INSERT INTO roles (name) VALUES ('USER'), ('ADMIN');